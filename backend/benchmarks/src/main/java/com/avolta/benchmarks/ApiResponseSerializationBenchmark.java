@@ -0,0 +1,55 @@
+package com.avolta.benchmarks;
+
+import com.avolta.dto.PublicationDto;
+import com.avolta.dto.responses.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sérialisation Jackson de la réponse du flux public ({@code ApiResponse<List<PublicationDto>>}).
+ * L'ObjectMapper est construit comme celui de Spring Boot (JavaTimeModule, dates ISO).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int publications;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<PublicationDto>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<PublicationDto> feed = Fixtures.feed(publications, 3).stream()
+                .map(PublicationDto::fromEntity)
+                .collect(Collectors.toList());
+        response = ApiResponse.success(feed);
+    }
+
+    @Benchmark
+    public byte[] serializeFeed() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
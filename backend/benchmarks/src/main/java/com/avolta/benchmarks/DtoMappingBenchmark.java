@@ -0,0 +1,71 @@
+package com.avolta.benchmarks;
+
+import com.avolta.dto.CommentDto;
+import com.avolta.dto.PublicationDto;
+import com.avolta.models.Comment;
+import com.avolta.models.Publication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@code PublicationDto.fromEntity} / {@code CommentDto.fromEntity}, dérivation
+ * du nom d'auteur ({@code email.split("@")}) comprise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Comment comment;
+    private String authorEmail;
+
+    @State(Scope.Benchmark)
+    public static class PublicationState {
+
+        @Param({"0", "10", "50"})
+        public int comments;
+
+        private Publication publication;
+
+        @Setup
+        public void setUp() {
+            publication = Fixtures.publication(1, comments);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Publication publication = Fixtures.publication(1, 0);
+        comment = Fixtures.comment(publication, Fixtures.user(3), 0);
+        authorEmail = publication.getAuthor().getEmail();
+    }
+
+    @Benchmark
+    public PublicationDto publicationFromEntity(PublicationState state) {
+        return PublicationDto.fromEntity(state.publication);
+    }
+
+    @Benchmark
+    public CommentDto commentFromEntity() {
+        return CommentDto.fromEntity(comment);
+    }
+
+    @Benchmark
+    public String authorNameSplit() {
+        return authorEmail.split("@")[0];
+    }
+}
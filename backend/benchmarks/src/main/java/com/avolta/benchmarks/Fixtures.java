@@ -0,0 +1,73 @@
+package com.avolta.benchmarks;
+
+import com.avolta.models.Comment;
+import com.avolta.models.Publication;
+import com.avolta.models.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entités en mémoire, de taille proche de la production, partagées par les benchmarks.
+ */
+final class Fixtures {
+
+    private static final String CONTENT = "Avolta Belgique ouvre de nouvelles boutiques à Brussels Airport. ".repeat(20);
+
+    private Fixtures() {
+    }
+
+    static User user(int index) {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setEmail("author" + index + "@avolta.be");
+        user.setPassword("{bcrypt}not-used");
+        user.setRole(User.Role.ADMIN);
+        user.setStatus(User.Status.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now().minusDays(index));
+        return user;
+    }
+
+    static Publication publication(int index, int commentCount) {
+        User author = user(index % 5);
+        Publication publication = new Publication();
+        publication.setId(UUID.randomUUID().toString());
+        publication.setTitle("Publication " + index);
+        publication.setContent(CONTENT);
+        publication.setImageUrl("http://localhost:8090/api/uploads/" + UUID.randomUUID() + ".jpg");
+        publication.setValidFrom(LocalDateTime.now().minusDays(1));
+        publication.setValidTo(LocalDateTime.now().plusDays(30));
+        publication.setCreatedAt(LocalDateTime.now().minusHours(index));
+        publication.setLikes(index * 3);
+        publication.setCategory(index % 2 == 0 ? "news" : "events");
+        publication.setStatus(Publication.Status.PUBLISHED);
+        publication.setAuthor(author);
+
+        List<Comment> comments = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(comment(publication, user(i % 7), i));
+        }
+        publication.setComments(comments);
+        return publication;
+    }
+
+    static Comment comment(Publication publication, User author, int index) {
+        Comment comment = new Comment();
+        comment.setId(UUID.randomUUID().toString());
+        comment.setContent("Commentaire " + index + " sur la publication");
+        comment.setCreatedAt(LocalDateTime.now().minusMinutes(index));
+        comment.setAuthor(author);
+        comment.setPublication(publication);
+        return comment;
+    }
+
+    static List<Publication> feed(int size, int commentsPerPublication) {
+        List<Publication> feed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            feed.add(publication(i, commentsPerPublication));
+        }
+        return feed;
+    }
+}
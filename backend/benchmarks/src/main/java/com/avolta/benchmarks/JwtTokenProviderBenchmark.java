@@ -0,0 +1,72 @@
+package com.avolta.benchmarks;
+
+import com.avolta.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération, parsing et validation des JWT, tels qu'exécutés par AuthController et
+ * JwtAuthorizationFilter à chaque requête authentifiée.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    // Valeurs par défaut de application.properties
+    private static final String SECRET = "avoltaBelgiqueSecretKey2025VeryLongAndSecureKeyForJwtTokenGeneration";
+    private static final long EXPIRATION_MS = 86400000L;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        setField("jwtSecret", SECRET);
+        setField("jwtExpirationInMs", EXPIRATION_MS);
+        userDetails = new User("superadmin@avolta.be", "unused", List.of(new SimpleGrantedAuthority("SUPERADMIN")));
+        token = jwtTokenProvider.generateToken(userDetails);
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenProvider.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtTokenProvider, value);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtTokenProvider.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return jwtTokenProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtTokenProvider.validateToken(token, userDetails);
+    }
+}
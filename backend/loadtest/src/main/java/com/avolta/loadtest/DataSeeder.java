@@ -0,0 +1,173 @@
+package com.avolta.loadtest;
+
+import com.avolta.models.Comment;
+import com.avolta.models.NewsletterSubscriber;
+import com.avolta.models.Publication;
+import com.avolta.models.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Insère un jeu de données réaliste : auteurs, milliers de publications, fils de commentaires
+ * chargés sur les publications "chaudes" et 100k abonnés, par lots de {@value #BATCH_SIZE}.
+ */
+final class DataSeeder {
+
+    static final String[] CATEGORIES = {"news", "events", "promotions", "careers", "airport"};
+    static final String AUTHOR_PASSWORD = "LoadTest123";
+    private static final int AUTHORS = 20;
+    private static final int BATCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random;
+
+    DataSeeder(EntityManager entityManager, PlatformTransactionManager transactionManager,
+               PasswordEncoder passwordEncoder, long seed) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.random = new Random(seed);
+    }
+
+    static final class SeedData {
+        final List<String> authorEmails = new ArrayList<>();
+        final List<String> activePublicationIds = new ArrayList<>();
+        final List<String> hotPublicationIds = new ArrayList<>();
+        final List<String> pendingPublicationIds = new ArrayList<>();
+    }
+
+    SeedData seed(LoadTestOptions options) {
+        SeedData data = new SeedData();
+        List<String> authorIds = seedAuthors(data);
+        seedPublications(options, authorIds, data);
+        seedComments(options, authorIds, data);
+        seedSubscribers(options.subscribers);
+        return data;
+    }
+
+    private List<String> seedAuthors(SeedData data) {
+        String password = passwordEncoder.encode(AUTHOR_PASSWORD);
+        return transactionTemplate.execute(status -> {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < AUTHORS; i++) {
+                User user = new User();
+                user.setEmail("author" + i + "@loadtest.avolta.be");
+                user.setPassword(password);
+                user.setRole(i == 0 ? User.Role.SUPERADMIN : User.Role.ADMIN);
+                user.setStatus(User.Status.ACTIVE);
+                entityManager.persist(user);
+                ids.add(user.getId());
+                data.authorEmails.add(user.getEmail());
+            }
+            return ids;
+        });
+    }
+
+    private void seedPublications(LoadTestOptions options, List<String> authorIds, SeedData data) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int start = 0; start < options.publications; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, options.publications);
+            int first = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < end; i++) {
+                    boolean hot = i < options.hotPublications;
+                    // ~80 % publiées et actives, le reste en attente ou expiré
+                    int kind = hot ? 0 : random.nextInt(10);
+                    Publication publication = new Publication();
+                    publication.setTitle("Publication de charge " + i);
+                    publication.setContent(content(i));
+                    publication.setImageUrl("/api/uploads/" + i + ".jpg");
+                    publication.setCategory(CATEGORIES[i % CATEGORIES.length]);
+                    publication.setLikes(random.nextInt(200));
+                    publication.setAuthor(entityManager.getReference(User.class,
+                            authorIds.get(i % authorIds.size())));
+                    publication.setStatus(kind == 8 ? Publication.Status.PENDING : Publication.Status.PUBLISHED);
+                    if (kind == 9) {
+                        publication.setValidFrom(now.minusDays(60));
+                        publication.setValidTo(now.minusDays(1 + random.nextInt(30)));
+                    } else {
+                        publication.setValidFrom(now.minusDays(random.nextInt(30)));
+                        publication.setValidTo(now.plusDays(1 + random.nextInt(90)));
+                    }
+                    entityManager.persist(publication);
+                    if (kind < 8) {
+                        data.activePublicationIds.add(publication.getId());
+                    } else if (kind == 8) {
+                        data.pendingPublicationIds.add(publication.getId());
+                    }
+                    if (hot) {
+                        data.hotPublicationIds.add(publication.getId());
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void seedComments(LoadTestOptions options, List<String> authorIds, SeedData data) {
+        List<String> targets = new ArrayList<>();
+        for (String id : data.hotPublicationIds) {
+            for (int i = 0; i < options.commentsPerHotPublication; i++) {
+                targets.add(id);
+            }
+        }
+        for (String id : data.activePublicationIds) {
+            for (int i = 0; i < options.commentsPerPublication; i++) {
+                targets.add(id);
+            }
+        }
+        for (int start = 0; start < targets.size(); start += BATCH_SIZE) {
+            List<String> batch = targets.subList(start, Math.min(start + BATCH_SIZE, targets.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String publicationId : batch) {
+                    Comment comment = new Comment();
+                    comment.setContent("Commentaire de charge " + random.nextInt(1_000_000));
+                    comment.setPublication(entityManager.getReference(Publication.class, publicationId));
+                    comment.setAuthor(entityManager.getReference(User.class,
+                            authorIds.get(random.nextInt(authorIds.size()))));
+                    entityManager.persist(comment);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void seedSubscribers(int count) {
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, count);
+            int first = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < end; i++) {
+                    NewsletterSubscriber subscriber = new NewsletterSubscriber();
+                    subscriber.setEmail("subscriber" + i + "@loadtest.avolta.be");
+                    subscriber.setFirstName("Prénom" + i);
+                    subscriber.setLastName("Nom" + i);
+                    subscriber.setConfirmed(random.nextInt(10) < 9);
+                    entityManager.persist(subscriber);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private String content(int index) {
+        StringBuilder content = new StringBuilder(1200);
+        while (content.length() < 1000) {
+            content.append("Avolta Belgique publication ").append(index)
+                    .append(" : nouveautés boutiques, restauration et services à Brussels Airport. ");
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,183 @@
+package com.avolta.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Vérifie le bus d'invalidation entre deux instances : deux JVM partagent une base H2 fichier
+ * ({@code AUTO_SERVER}), les écritures sont faites sur le nœud A et le détail est relu sur le nœud B
+ * jusqu'à voir la nouvelle version. Affiche la latence de propagation observée.
+ * <p>
+ * Usage : {@code java -cp target/avolta-backend-loadtest-1.0.0.jar -Dloader.main=com.avolta.loadtest.InvalidationPropagationCheck
+ * org.springframework.boot.loader.launch.PropertiesLauncher [--updates=20] [--poll-interval=PT1S]}.
+ * Code de sortie 1 si une écriture n'est pas visible sur B avant {@code --timeout}.
+ */
+public final class InvalidationPropagationCheck {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private String token;
+
+    private InvalidationPropagationCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int updates = 20;
+        String pollInterval = "PT1S";
+        Duration timeout = Duration.ofSeconds(10);
+        for (String arg : args) {
+            if (arg.startsWith("--updates=")) {
+                updates = Integer.parseInt(arg.substring("--updates=".length()));
+            } else if (arg.startsWith("--poll-interval=")) {
+                pollInterval = arg.substring("--poll-interval=".length());
+            } else if (arg.startsWith("--timeout=")) {
+                timeout = Duration.parse(arg.substring("--timeout=".length()));
+            }
+        }
+
+        Path directory = Files.createTempDirectory("avolta-invalidation");
+        String url = "jdbc:h2:file:" + directory.resolve("bus").toAbsolutePath() + ";AUTO_SERVER=TRUE";
+        InvalidationPropagationCheck check = new InvalidationPropagationCheck();
+        List<Process> nodes = new ArrayList<>();
+        int failures;
+        try {
+            // A crée le schéma avant le démarrage de B
+            String nodeA = check.startNode("a", url, pollInterval, directory, nodes);
+            String nodeB = check.startNode("b", url, pollInterval, directory, nodes);
+            failures = check.exercise(nodeA, nodeB, updates, timeout);
+        } finally {
+            nodes.forEach(Process::destroy);
+            for (Process node : nodes) {
+                node.waitFor();
+            }
+        }
+        System.out.println("Node logs in " + directory);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private int exercise(String nodeA, String nodeB, int updates, Duration timeout) throws Exception {
+        JsonNode login = send(nodeA, "POST", "/api/auth/login",
+                "{\"email\":\"superadmin@avolta.be\",\"password\":\"superadmin123\"}");
+        token = login.path("data").path("token").asText();
+        LocalDateTime now = LocalDateTime.now();
+        String id = send(nodeA, "POST", "/api/publications",
+                "{\"title\":\"v0\",\"content\":\"Contenu\",\"category\":\"news\",\"validFrom\":\""
+                        + now.minusMinutes(1) + "\",\"validTo\":\"" + now.plusDays(7) + "\"}")
+                .path("data").path("id").asText();
+
+        List<Long> latencies = new ArrayList<>();
+        int failures = 0;
+        for (int i = 1; i <= updates; i++) {
+            // Met l'ancienne version en cache sur B avant d'écrire sur A
+            send(nodeB, "GET", "/api/publications/" + id, null);
+            String title = "v" + i;
+            send(nodeA, "PUT", "/api/publications/" + id, "{\"title\":\"" + title + "\"}");
+            long latency = awaitTitle(nodeB, id, title, timeout);
+            if (latency < 0) {
+                failures++;
+                System.out.printf("update %d not visible on node B after %s%n", i, timeout);
+            } else {
+                latencies.add(latency);
+            }
+        }
+
+        Collections.sort(latencies);
+        if (!latencies.isEmpty()) {
+            System.out.printf("%nPropagation A -> B over %d updates: p50 %d ms, max %d ms%n", latencies.size(),
+                    latencies.get(latencies.size() / 2), latencies.get(latencies.size() - 1));
+        }
+        System.out.println(failures == 0 ? "All updates propagated" : failures + " update(s) not propagated");
+        return failures;
+    }
+
+    private long awaitTitle(String node, String id, String title, Duration timeout) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            JsonNode detail = send(node, "GET", "/api/publications/" + id, null);
+            if (title.equals(detail.path("data").path("title").asText())) {
+                return (System.nanoTime() - start) / 1_000_000;
+            }
+            Thread.sleep(10);
+        }
+        return -1;
+    }
+
+    private String startNode(String name, String url, String pollInterval, Path directory, List<Process> nodes)
+            throws Exception {
+        int port = freePort();
+        String java = ProcessHandle.current().info().command().orElse("java");
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Dloader.main=com.avolta.Application", "org.springframework.boot.loader.launch.PropertiesLauncher",
+                "--spring.profiles.active=h2",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--app.cache.invalidation.poll-interval=" + pollInterval,
+                "--file.upload-dir=" + directory.resolve("uploads-" + name));
+        File log = directory.resolve("node-" + name + ".log").toFile();
+        builder.redirectErrorStream(true).redirectOutput(log);
+        Process process = builder.start();
+        nodes.add(process);
+
+        String baseUrl = "http://localhost:" + port;
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Node " + name + " exited, see " + log);
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/publications/public/active")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    System.out.println("Node " + name + " ready on " + baseUrl);
+                    return baseUrl;
+                }
+            } catch (IOException e) {
+                // Pas encore à l'écoute
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Node " + name + " did not start, see " + log);
+    }
+
+    private JsonNode send(String baseUrl, String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.avolta.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boucle fermée : chaque worker tire un scénario selon les poids, exécute la requête et
+ * enregistre sa latence. Les histogrammes sont propres à chaque worker puis fusionnés.
+ */
+final class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoadTestOptions options;
+    private final DataSeeder.SeedData data;
+    private final String baseUrl;
+    private final String adminToken;
+    private final HttpClient httpClient;
+    private final Scenario[] wheel;
+
+    LoadDriver(LoadTestOptions options, DataSeeder.SeedData data, String baseUrl, String adminToken) {
+        this.options = options;
+        this.data = data;
+        this.baseUrl = baseUrl;
+        this.adminToken = adminToken;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        List<Scenario> slots = new ArrayList<>();
+        options.weights.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(scenario);
+            }
+        });
+        this.wheel = slots.toArray(new Scenario[0]);
+    }
+
+    static final class Result {
+        final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+        final Map<Scenario, Long> errors = new EnumMap<>(Scenario.class);
+        long measuredNanos;
+
+        void merge(Worker worker) {
+            worker.latencies.forEach((scenario, histogram) ->
+                    latencies.computeIfAbsent(scenario, s -> newHistogram()).add(histogram));
+            worker.errors.forEach((scenario, count) -> errors.merge(scenario, count, Long::sum));
+        }
+    }
+
+    Result run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup.toNanos();
+        long end = warmupEnd + options.duration.toNanos();
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        CountDownLatch done = new CountDownLatch(options.threads);
+        for (int i = 0; i < options.threads; i++) {
+            Worker worker = new Worker(new Random(options.seed + i), warmupEnd, end);
+            workers.add(worker);
+            executor.execute(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+
+        Result result = new Result();
+        result.measuredNanos = options.duration.toNanos();
+        workers.forEach(result::merge);
+        return result;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private final class Worker {
+        private final Random random;
+        private final long warmupEnd;
+        private final long end;
+        private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+        private final Map<Scenario, Long> errors = new EnumMap<>(Scenario.class);
+
+        Worker(Random random, long warmupEnd, long end) {
+            this.random = random;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+        }
+
+        void run() {
+            while (System.nanoTime() < end) {
+                Scenario scenario = wheel[random.nextInt(wheel.length)];
+                HttpRequest request = request(scenario);
+                long start = System.nanoTime();
+                boolean failed;
+                long retryAfter = 0;
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    failed = response.statusCode() >= 400;
+                    // Client respectueux : un 429 ou 503 avec Retry-After suspend l'utilisateur virtuel
+                    if (response.statusCode() == 429 || response.statusCode() == 503) {
+                        retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+                    }
+                } catch (IOException e) {
+                    failed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long elapsedMicros = (System.nanoTime() - start) / 1000;
+                if (start >= warmupEnd) {
+                    latencies.computeIfAbsent(scenario, s -> newHistogram())
+                            .recordValue(Math.min(elapsedMicros, HIGHEST_TRACKABLE_MICROS));
+                    if (failed) {
+                        errors.merge(scenario, 1L, Long::sum);
+                    }
+                }
+                if (retryAfter > 0) {
+                    try {
+                        Thread.sleep(retryAfter * 1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private HttpRequest request(Scenario scenario) {
+            switch (scenario) {
+                case FEED_ACTIVE:
+                    return get("/api/publications/public/active");
+                case FEED_CATEGORY:
+                    return get("/api/publications/public/category/"
+                            + DataSeeder.CATEGORIES[random.nextInt(DataSeeder.CATEGORIES.length)]);
+                case DETAIL:
+                    return get("/api/publications/public/" + pickPublication());
+                case LIKE_STORM:
+                    return post("/api/publications/public/" + pick(data.hotPublicationIds) + "/like", "", null);
+                case LOGIN:
+                    return post("/api/auth/login", "{\"email\":\"" + pick(data.authorEmails)
+                            + "\",\"password\":\"" + DataSeeder.AUTHOR_PASSWORD + "\"}", null);
+                case PUBLISH_WITH_NEWSLETTER:
+                    LocalDateTime now = LocalDateTime.now();
+                    return post("/api/publications", "{\"title\":\"Publication live " + random.nextInt(1_000_000)
+                            + "\",\"content\":\"Contenu publié pendant le test de charge\",\"category\":\""
+                            + DataSeeder.CATEGORIES[random.nextInt(DataSeeder.CATEGORIES.length)]
+                            + "\",\"validFrom\":\"" + now.minusMinutes(1) + "\",\"validTo\":\"" + now.plusDays(30)
+                            + "\",\"sendNewsletter\":true}", adminToken);
+                case COMMENT:
+                    return post("/api/publications/" + pickPublication() + "/comments",
+                            "{\"content\":\"Commentaire du test de charge\"}", adminToken);
+                case ADMIN_EXPORT:
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/api/publications"))
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Authorization", "Bearer " + adminToken)
+                            .GET().build();
+                default:
+                    throw new IllegalStateException("Unknown scenario " + scenario);
+            }
+        }
+
+        // Distribution biaisée : 80 % des lectures de détail visent les publications chaudes
+        private String pickPublication() {
+            return random.nextInt(10) < 8 ? pick(data.hotPublicationIds) : pick(data.activePublicationIds);
+        }
+
+        private String pick(List<String> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+        }
+
+        private HttpRequest post(String path, String body, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.avolta.loadtest;
+
+import com.avolta.Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Démarre le backend sur le profil H2, insère le jeu de données puis joue le mélange de scénarios.
+ * <p>
+ * Exemple : {@code java -jar target/avolta-backend-loadtest-1.0.0.jar --duration=120s --threads=64}
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class)
+                .profiles(options.profiles.split(","));
+        if (!options.dbLatency.isZero()) {
+            builder.initializers(context -> context.getBeanFactory()
+                    .addBeanPostProcessor(new SlowDatabase(options.dbLatency)));
+        }
+        // Arguments de ligne de commande : priment sur application.properties. Tous les utilisateurs virtuels
+        // partagent l'adresse locale : sans désactiver la limitation de débit, LIKE_STORM mesurerait des 429.
+        // Les options --app.* sont transmises au backend (--app.overload.enabled=false, par exemple)
+        List<String> properties = new ArrayList<>(List.of("--server.port=0", "--app.rate-limit.enabled=false"));
+        Arrays.stream(args).filter(arg -> arg.startsWith("--app.")).forEach(properties::add);
+        ConfigurableApplicationContext context = builder.run(properties.toArray(String[]::new));
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.nanoTime();
+            DataSeeder seeder = new DataSeeder(context.getBean(EntityManager.class),
+                    context.getBean(PlatformTransactionManager.class), context.getBean(PasswordEncoder.class),
+                    options.seed);
+            DataSeeder.SeedData data = seeder.seed(options);
+            System.out.printf("Seeded %d publications (%d active), %d subscribers in %.1fs%n",
+                    options.publications, data.activePublicationIds.size(), options.subscribers,
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            String adminToken = login(baseUrl, data.authorEmails.get(0));
+            System.out.printf("Running %d threads: %s warm-up, %s measured%n",
+                    options.threads, options.warmup, options.duration);
+            LoadDriver.Result result = new LoadDriver(options, data, baseUrl, adminToken).run();
+            LoadTestReport.write(options, result);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static String login(String baseUrl, String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"password\":\""
+                        + DataSeeder.AUTHOR_PASSWORD + "\"}"))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.body());
+        }
+        return new ObjectMapper().readTree(response.body()).path("data").path("token").asText();
+    }
+}
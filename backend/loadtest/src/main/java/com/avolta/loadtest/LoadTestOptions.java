@@ -0,0 +1,64 @@
+package com.avolta.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options en ligne de commande, au format {@code --cle=valeur}.
+ */
+final class LoadTestOptions {
+
+    final Duration warmup;
+    final Duration duration;
+    final int threads;
+    final long seed;
+    final int publications;
+    final int subscribers;
+    final int hotPublications;
+    final int commentsPerHotPublication;
+    final int commentsPerPublication;
+    final String profiles;
+    final Duration dbLatency;
+    final String output;
+    final Map<Scenario, Integer> weights = new HashMap<>();
+
+    private LoadTestOptions(Map<String, String> args) {
+        warmup = duration(args.getOrDefault("warmup", "15s"));
+        duration = duration(args.getOrDefault("duration", "60s"));
+        threads = Integer.parseInt(args.getOrDefault("threads", "32"));
+        seed = Long.parseLong(args.getOrDefault("seed", "42"));
+        publications = Integer.parseInt(args.getOrDefault("publications", "5000"));
+        subscribers = Integer.parseInt(args.getOrDefault("subscribers", "100000"));
+        hotPublications = Integer.parseInt(args.getOrDefault("hot-publications", "20"));
+        commentsPerHotPublication = Integer.parseInt(args.getOrDefault("hot-comments", "500"));
+        commentsPerPublication = Integer.parseInt(args.getOrDefault("comments", "5"));
+        profiles = args.getOrDefault("profiles", "h2");
+        dbLatency = duration(args.getOrDefault("db-latency", "0s"));
+        output = args.getOrDefault("output", "target/loadtest-result.json");
+        for (Scenario scenario : Scenario.values()) {
+            String key = "weight." + scenario.name().toLowerCase().replace('_', '-');
+            weights.put(scenario, Integer.parseInt(args.getOrDefault(key, String.valueOf(scenario.defaultWeight))));
+        }
+    }
+
+    // "500ms", "15s", "2m"
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+}
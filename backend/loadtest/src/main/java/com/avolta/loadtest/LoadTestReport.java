@@ -0,0 +1,79 @@
+package com.avolta.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Débit et percentiles par endpoint, en console et en JSON pour comparer deux versions.
+ */
+final class LoadTestReport {
+
+    private LoadTestReport() {
+    }
+
+    static void write(LoadTestOptions options, LoadDriver.Result result) throws IOException {
+        double seconds = result.measuredNanos / 1e9;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long totalRequests = 0;
+
+        System.out.printf("%n%-55s %9s %7s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = result.latencies.get(scenario);
+            if (histogram == null) {
+                continue;
+            }
+            long errors = result.errors.getOrDefault(scenario, 0L);
+            totalRequests += histogram.getTotalCount();
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("scenario", scenario.name());
+            endpoint.put("endpoint", scenario.endpoint);
+            endpoint.put("requests", histogram.getTotalCount());
+            endpoint.put("errors", errors);
+            endpoint.put("throughput", histogram.getTotalCount() / seconds);
+            endpoint.put("p50Ms", millis(histogram, 50));
+            endpoint.put("p99Ms", millis(histogram, 99));
+            endpoint.put("p999Ms", millis(histogram, 99.9));
+            endpoint.put("maxMs", histogram.getMaxValue() / 1000.0);
+            endpoints.add(endpoint);
+            System.out.printf("%-55s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", scenario.endpoint,
+                    histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                    millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+        System.out.printf("%-55s %9d %7s %10.1f%n%n", "TOTAL", totalRequests, "", totalRequests / seconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", LocalDateTime.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("profiles", options.profiles);
+        report.put("threads", options.threads);
+        report.put("dbLatencyMs", options.dbLatency.toMillis());
+        report.put("durationSeconds", seconds);
+        report.put("publications", options.publications);
+        report.put("subscribers", options.subscribers);
+        report.put("seed", options.seed);
+        report.put("totalThroughput", totalRequests / seconds);
+        report.put("endpoints", endpoints);
+
+        File output = new File(options.output);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        System.out.println("Report written to " + output.getAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
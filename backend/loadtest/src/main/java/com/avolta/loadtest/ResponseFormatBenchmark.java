@@ -0,0 +1,171 @@
+package com.avolta.loadtest;
+
+import com.avolta.Application;
+import com.avolta.dto.PublicationDto;
+import com.avolta.dto.responses.ApiResponse;
+import com.avolta.fields.FieldSelection;
+import com.avolta.services.PublicationChangesService;
+import com.avolta.services.PublicationSearchService;
+import com.avolta.services.PublicationService;
+import com.avolta.services.TrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Compare les encodages JSON, CBOR et Smile sur les endpoints de fil d'actualité : taille de la réponse, temps
+ * d'encodage de la même réponse par l'{@code ObjectMapper} de chaque convertisseur, puis taille et latence
+ * mesurées en HTTP avec l'en-tête {@code Accept} correspondant.
+ * <p>
+ * Usage : {@code java -cp target/avolta-backend-loadtest-1.0.0.jar -Dloader.main=com.avolta.loadtest.ResponseFormatBenchmark
+ * org.springframework.boot.loader.launch.PropertiesLauncher [--publications=2000] [--comments=5]}.
+ */
+public final class ResponseFormatBenchmark {
+
+    private static final int ENCODE_WARMUP = 200;
+    private static final int ENCODE_ITERATIONS = 500;
+    private static final int HTTP_WARMUP = 20;
+    private static final int HTTP_ITERATIONS = 100;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+    private String baseUrl;
+
+    private ResponseFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("publications", "2000");
+        defaults.put("subscribers", "10");
+        defaults.put("hot-publications", "20");
+        defaults.put("hot-comments", "20");
+        defaults.put("comments", "5");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 0) {
+                defaults.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        LoadTestOptions options = LoadTestOptions.parse(defaults.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new));
+        new ResponseFormatBenchmark().run(options);
+        System.exit(0);
+    }
+
+    private void run(LoadTestOptions options) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("h2")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:formats;DB_CLOSE_DELAY=-1",
+                        "--app.query-budget.mode=OFF");
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            new DataSeeder(context.getBean(EntityManager.class), context.getBean(PlatformTransactionManager.class),
+                    context.getBean(PasswordEncoder.class), options.seed).seed(options);
+            // Données insérées sans passer par les services : index et classement reconstruits
+            PublicationSearchService search = context.getBean(PublicationSearchService.class);
+            search.invalidateAll();
+            search.refresh();
+            context.getBean(TrendingService.class).afterSingletonsInstantiated();
+
+            formats.put("application/json", context.getBean(ObjectMapper.class));
+            formats.put("application/cbor",
+                    context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper());
+            formats.put("application/x-jackson-smile",
+                    context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper());
+
+            PublicationService publications = context.getBean(PublicationService.class);
+            PublicationChangesService changes = context.getBean(PublicationChangesService.class);
+            TrendingService trending = context.getBean(TrendingService.class);
+            FieldSelection all = FieldSelection.all(PublicationDto.class);
+            String category = DataSeeder.CATEGORIES[0];
+
+            System.out.printf("%n%-44s %-28s %10s %7s %12s %7s %12s %10s%n", "Endpoint", "Format", "Bytes", "Size",
+                    "Encode (us)", "Time", "HTTP bytes", "HTTP (ms)");
+            report("/api/publications/public/active", () -> publications.getActivePublications(all));
+            report("/api/publications/public/category/" + category,
+                    () -> publications.getActivePublicationsByCategory(category, all));
+            report("/api/publications/public/changes", () -> changes.getChangesSince(null));
+            report("/api/publications/public/trending?limit=50", () -> trending.getTrending(null, 50));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void report(String path, Supplier<Object> payload) throws Exception {
+        ApiResponse<Object> response = ApiResponse.success(payload.get());
+        long jsonBytes = 0;
+        double jsonNanos = 0;
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            int bytes = mapper.writeValueAsBytes(response).length;
+            double nanos = encodeNanos(mapper, response);
+            HttpSample http = fetch(path, format.getKey());
+            if (jsonBytes == 0) {
+                jsonBytes = bytes;
+                jsonNanos = nanos;
+            }
+            System.out.printf("%-44s %-28s %10d %6.0f%% %12.1f %6.0f%% %12d %10.2f%n", path, format.getKey(), bytes,
+                    100.0 * bytes / jsonBytes, nanos / 1000, 100 * nanos / jsonNanos, http.bytes, http.medianMillis);
+        }
+    }
+
+    private static double encodeNanos(ObjectMapper mapper, Object value) throws Exception {
+        for (int i = 0; i < ENCODE_WARMUP; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ENCODE_ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return (double) (System.nanoTime() - start) / ENCODE_ITERATIONS;
+    }
+
+    private HttpSample fetch(String path, String accept) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept", accept).build();
+        long[] durations = new long[HTTP_ITERATIONS];
+        int bytes = 0;
+        for (int i = 0; i < HTTP_WARMUP + HTTP_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            String contentType = response.headers().firstValue("Content-Type").orElse("");
+            if (response.statusCode() != 200 || !contentType.startsWith(accept)) {
+                throw new IllegalStateException("GET " + path + " (" + accept + ") returned "
+                        + response.statusCode() + " " + contentType);
+            }
+            if (i >= HTTP_WARMUP) {
+                durations[i - HTTP_WARMUP] = elapsed;
+                bytes = response.body().length;
+            }
+        }
+        Arrays.sort(durations);
+        return new HttpSample(bytes, durations[HTTP_ITERATIONS / 2] / 1_000_000.0);
+    }
+
+    private static final class HttpSample {
+        final int bytes;
+        final double medianMillis;
+
+        HttpSample(int bytes, double medianMillis) {
+            this.bytes = bytes;
+            this.medianMillis = medianMillis;
+        }
+    }
+}
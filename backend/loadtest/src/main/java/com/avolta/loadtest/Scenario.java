@@ -0,0 +1,25 @@
+package com.avolta.loadtest;
+
+/**
+ * Scénarios du mélange de charge. Les poids par défaut reproduisent un trafic de lecture
+ * dominant, avec des rafales de likes sur quelques publications "virales". Les scénarios de poids nul
+ * (commentaires, export d'administration) servent aux essais de délestage par classe de priorité.
+ */
+enum Scenario {
+    FEED_ACTIVE("GET /api/publications/public/active", 45),
+    FEED_CATEGORY("GET /api/publications/public/category/{category}", 15),
+    DETAIL("GET /api/publications/public/{id}", 20),
+    LIKE_STORM("POST /api/publications/public/{id}/like", 15),
+    LOGIN("POST /api/auth/login", 4),
+    PUBLISH_WITH_NEWSLETTER("POST /api/publications (sendNewsletter)", 1),
+    COMMENT("POST /api/publications/{id}/comments", 0),
+    ADMIN_EXPORT("GET /api/publications (streamed)", 0);
+
+    final String endpoint;
+    final int defaultWeight;
+
+    Scenario(String endpoint, int defaultWeight) {
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+}
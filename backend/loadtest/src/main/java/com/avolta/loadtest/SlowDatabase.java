@@ -0,0 +1,71 @@
+package com.avolta.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Simule une base lente : ajoute une latence fixe à chaque exécution de requête SQL, connexion tenue.
+ * Reproduit sur H2 les moments où MySQL ralentit et où le pool de threads ou de connexions sature.
+ */
+final class SlowDatabase implements BeanPostProcessor {
+
+    private final long latencyMillis;
+
+    SlowDatabase(Duration latency) {
+        this.latencyMillis = latency.toMillis();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return slow(super.getConnection(), Connection.class);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return slow(super.getConnection(username, password), Connection.class);
+            }
+        };
+    }
+
+    private <T> T slow(T target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (target instanceof Statement && method.getName().startsWith("execute")) {
+                        Thread.sleep(latencyMillis);
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement && !(target instanceof Statement)) {
+                        return slow(statement, statementType(method.getReturnType()));
+                    }
+                    return result;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Statement> statementType(Class<?> returnType) {
+        return (Class<Statement>) returnType;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
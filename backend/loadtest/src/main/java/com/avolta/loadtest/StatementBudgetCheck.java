@@ -0,0 +1,245 @@
+package com.avolta.loadtest;
+
+import com.avolta.Application;
+import com.avolta.services.AdminStatsService;
+import com.avolta.services.PublicationFacetService;
+import com.avolta.services.PublicationSearchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Garde-fou N+1 : appelle chaque endpoint des contrôleurs sur un jeu de données de base, puis 10x et 100x
+ * plus volumineux, et vérifie que le nombre de requêtes SQL (en-tête {@code X-Query-Count}) reste constant.
+ * Les réponses en flux, sans en-tête, sont comptées par la métrique {@code hibernate.request.statements} ; toute
+ * autre réponse sans en-tête fait échouer le contrôle.
+ * <p>
+ * Usage : {@code java -cp target/avolta-backend-loadtest-1.0.0.jar -Dloader.main=com.avolta.loadtest.StatementBudgetCheck
+ * org.springframework.boot.loader.launch.PropertiesLauncher}. Code de sortie 1 si un endpoint varie.
+ */
+public final class StatementBudgetCheck {
+
+    private static final int[] SCALES = {1, 10, 100};
+    private static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    private static final String STATEMENTS_METRIC = "hibernate.request.statements";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private String baseUrl;
+    private String token;
+    private MeterRegistry meterRegistry;
+
+    private StatementBudgetCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StatementBudgetCheck check = new StatementBudgetCheck();
+        Map<String, List<Integer>> counts = new LinkedHashMap<>();
+        for (int scale : SCALES) {
+            check.run(scale).forEach((endpoint, count) ->
+                    counts.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(count));
+        }
+
+        int failures = 0;
+        System.out.printf("%n%-60s %6s %6s %6s%n", "Endpoint", "1x", "10x", "100x");
+        for (Map.Entry<String, List<Integer>> entry : counts.entrySet()) {
+            List<Integer> values = entry.getValue();
+            boolean constant = values.stream().distinct().count() == 1;
+            if (!constant) {
+                failures++;
+            }
+            System.out.printf("%-60s %6s %6s %6s%s%n", entry.getKey(), values.get(0),
+                    values.size() > 1 ? values.get(1) : "-", values.size() > 2 ? values.get(2) : "-",
+                    constant ? "" : "  GROWS WITH DATA");
+        }
+        System.out.println(failures == 0 ? "\nAll endpoints have a constant statement count"
+                : "\n" + failures + " endpoint(s) issue more statements as data grows");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private Map<String, Integer> run(int scale) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(new String[] {
+                "--publications=" + 50 * scale,
+                "--subscribers=" + 50 * scale,
+                "--hot-publications=4",
+                "--hot-comments=" + 5 * scale,
+                "--comments=1"
+        });
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("h2")
+                // Arguments de ligne de commande : ils priment sur application-h2.properties
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:budget" + scale + ";DB_CLOSE_DELAY=-1",
+                        "--app.query-budget.header-enabled=true",
+                        "--app.query-budget.mode=LOG",
+                        // Un seul lot de commentaires par liste en flux : seules les requêtes par ligne varient
+                        "--app.streaming.batch-size=100000");
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            meterRegistry = context.getBean(MeterRegistry.class);
+            DataSeeder.SeedData data = new DataSeeder(context.getBean(EntityManager.class),
+                    context.getBean(PlatformTransactionManager.class), context.getBean(PasswordEncoder.class),
+                    options.seed).seed(options);
+            // Données insérées sans passer par les services : index de recherche, facettes et totaux recalculés
+            PublicationSearchService search = context.getBean(PublicationSearchService.class);
+            search.invalidateAll();
+            search.refresh();
+            PublicationFacetService facets = context.getBean(PublicationFacetService.class);
+            facets.invalidateAll();
+            facets.refresh();
+            context.getBean(AdminStatsService.class).reconcile();
+            return exercise(data);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Integer> exercise(DataSeeder.SeedData data) throws Exception {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String hot = data.hotPublicationIds.get(0);
+        LocalDateTime now = LocalDateTime.now();
+        token = null;
+
+        JsonNode login = call(counts, "POST /api/auth/login", "POST", "/api/auth/login",
+                "{\"email\":\"" + data.authorEmails.get(0) + "\",\"password\":\"" + DataSeeder.AUTHOR_PASSWORD + "\"}");
+        token = login.path("data").path("token").asText();
+
+        // Publications ; les listes d'administration sont écrites en flux, sans en-tête
+        callStreamed(counts, "GET /api/publications", "/api/publications");
+        call(counts, "GET /api/publications/public/active", "GET", "/api/publications/public/active", null);
+        call(counts, "GET /api/publications/public/category/{category}", "GET",
+                "/api/publications/public/category/" + DataSeeder.CATEGORIES[0], null);
+        call(counts, "GET /api/publications/public/active?fields=id,title,likes", "GET",
+                "/api/publications/public/active?fields=id,title,likes", null);
+        call(counts, "GET /api/publications/public/active?fields=title,authorName,comments", "GET",
+                "/api/publications/public/active?fields=title,authorName,comments", null);
+        callStreamed(counts, "GET /api/publications/pending", "/api/publications/pending");
+        JsonNode changes = call(counts, "GET /api/publications/public/changes (reset)", "GET",
+                "/api/publications/public/changes", null);
+        call(counts, "GET /api/publications/public/changes?since={token}", "GET",
+                "/api/publications/public/changes?since=" + changes.path("data").path("token").asText(), null);
+        call(counts, "GET /api/publications/{id}", "GET", "/api/publications/" + hot, null);
+        call(counts, "GET /api/publications/public/{id}", "GET", "/api/publications/public/" + hot, null);
+        call(counts, "POST /api/publications/public/batch", "POST", "/api/publications/public/batch",
+                "{\"ids\":[\"" + String.join("\",\"", data.hotPublicationIds) + "\",\"unknown\"],"
+                        + "\"includeComments\":true}");
+        call(counts, "GET /api/publications/public/trending", "GET", "/api/publications/public/trending?limit=50",
+                null);
+        call(counts, "GET /api/publications/public/search", "GET", "/api/publications/public/search?q=publication",
+                null);
+        call(counts, "GET /api/publications/public/facets", "GET", "/api/publications/public/facets", null);
+        call(counts, "GET /api/publications/stats/facets", "GET", "/api/publications/stats/facets", null);
+        call(counts, "GET /api/publications/stats/views", "GET", "/api/publications/stats/views?limit=100", null);
+        call(counts, "POST /api/publications", "POST", "/api/publications",
+                "{\"title\":\"Budget\",\"content\":\"Contenu\",\"category\":\"news\",\"validFrom\":\""
+                        + now.minusMinutes(1) + "\",\"validTo\":\"" + now.plusDays(7) + "\",\"sendNewsletter\":true}");
+        call(counts, "PUT /api/publications/{id}", "PUT", "/api/publications/" + data.hotPublicationIds.get(1),
+                "{\"title\":\"Titre modifié\"}");
+        call(counts, "PUT /api/publications/{id}/approve", "PUT",
+                "/api/publications/" + data.pendingPublicationIds.get(0) + "/approve", null);
+        call(counts, "DELETE /api/publications/{id}/reject", "DELETE",
+                "/api/publications/" + data.pendingPublicationIds.get(1) + "/reject", null);
+        call(counts, "POST /api/publications/public/{id}/like", "POST", "/api/publications/public/" + hot + "/like", "");
+
+        // Commentaires
+        String comments = "/api/publications/" + hot + "/comments";
+        call(counts, "GET /api/publications/{publicationId}/comments", "GET", comments, null);
+        call(counts, "GET /api/publications/{publicationId}/comments?fields=content", "GET",
+                comments + "?fields=content", null);
+        JsonNode comment = call(counts, "POST /api/publications/{publicationId}/comments", "POST", comments,
+                "{\"content\":\"Commentaire budget\"}");
+        call(counts, "DELETE /api/publications/{publicationId}/comments/{id}", "DELETE",
+                comments + "/" + comment.path("data").path("id").asText(), null);
+        call(counts, "DELETE /api/publications/{id}", "DELETE", "/api/publications/" + data.hotPublicationIds.get(2),
+                null);
+
+        // Administration
+        call(counts, "GET /api/admin/stats", "GET", "/api/admin/stats?days=90", null);
+
+        // Utilisateurs
+        JsonNode user = call(counts, "POST /api/auth/register", "POST", "/api/auth/register",
+                "{\"email\":\"budget@loadtest.avolta.be\",\"password\":\"Budget1234\",\"role\":\"ADMIN\"}");
+        String userId = user.path("data").path("id").asText();
+        callStreamed(counts, "GET /api/users", "/api/users");
+        call(counts, "GET /api/users/{id}", "GET", "/api/users/" + userId, null);
+        call(counts, "PUT /api/users/{id}/status", "PUT", "/api/users/" + userId + "/status?status=INACTIVE", null);
+        call(counts, "DELETE /api/users/{id}", "DELETE", "/api/users/" + userId, null);
+
+        // Newsletter
+        JsonNode subscriber = call(counts, "POST /api/newsletter/subscribe", "POST", "/api/newsletter/subscribe",
+                "{\"email\":\"budget@loadtest.avolta.be\",\"firstName\":\"Budget\"}");
+        call(counts, "POST /api/newsletter/subscribe (existing)", "POST", "/api/newsletter/subscribe",
+                "{\"email\":\"budget@loadtest.avolta.be\",\"lastName\":\"Check\"}");
+        callStreamed(counts, "GET /api/newsletter/subscribers", "/api/newsletter/subscribers");
+        call(counts, "DELETE /api/newsletter/unsubscribe", "DELETE",
+                "/api/newsletter/unsubscribe?email=subscriber0@loadtest.avolta.be", null);
+        call(counts, "DELETE /api/newsletter/subscribers/{id}", "DELETE",
+                "/api/newsletter/subscribers/" + subscriber.path("data").path("id").asText(), null);
+        call(counts, "POST /api/newsletter/test", "POST", "/api/newsletter/test?email=test@avolta.be", "");
+        return counts;
+    }
+
+    private JsonNode call(Map<String, Integer> counts, String endpoint, String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = send(endpoint, method, path, body);
+        counts.put(endpoint, response.headers().firstValue(QUERY_COUNT_HEADER).map(Integer::parseInt)
+                .orElseThrow(() -> new IllegalStateException(endpoint + " returned no " + QUERY_COUNT_HEADER
+                        + " header")));
+        return response.body().isEmpty() ? objectMapper.createObjectNode() : objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Réponse écrite en flux : l'en-tête est parti avant la lecture, le nombre de requêtes est lu dans la métrique
+     * publiée à la fin de la requête (avant le dernier fragment, donc avant que le client ait tout reçu).
+     */
+    private void callStreamed(Map<String, Integer> counts, String endpoint, String path)
+            throws IOException, InterruptedException {
+        DistributionSummary summary = meterRegistry.find(STATEMENTS_METRIC).tags("method", "GET", "uri", path)
+                .summary();
+        long requestsBefore = summary == null ? 0 : summary.count();
+        double statementsBefore = summary == null ? 0 : summary.totalAmount();
+        HttpResponse<String> response = send(endpoint, "GET", path, null);
+        if (response.headers().firstValue(QUERY_COUNT_HEADER).isPresent()) {
+            throw new IllegalStateException(endpoint + " is no longer streamed: use call()");
+        }
+        summary = meterRegistry.find(STATEMENTS_METRIC).tags("method", "GET", "uri", path).summary();
+        if (summary == null || summary.count() != requestsBefore + 1) {
+            throw new IllegalStateException(endpoint + " recorded no " + STATEMENTS_METRIC + " sample");
+        }
+        counts.put(endpoint, (int) (summary.totalAmount() - statementsBefore));
+        objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String endpoint, String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
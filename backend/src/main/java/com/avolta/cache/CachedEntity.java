@@ -0,0 +1,9 @@
+package com.avolta.cache;
+
+/**
+ * Racines de cache invalidées par le bus. Une écriture sur un commentaire publie l'identifiant
+ * de sa publication, dont le détail embarque les commentaires.
+ */
+public enum CachedEntity {
+    PUBLICATION, USER
+}
@@ -0,0 +1,226 @@
+package com.avolta.cache;
+
+import com.avolta.models.CacheInvalidation;
+import com.avolta.repositories.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bus d'invalidation entre nœuds. Chaque écriture insère (entité, id) dans {@code cache_invalidations}
+ * dans sa propre transaction ; le nœud auteur évince ses caches au commit, les autres en lisant la table
+ * au plus tard après {@code poll-interval}, ou dès le réveil du transport. La lecture a son propre thread : les
+ * tâches {@code @Scheduled} partagent le planificateur de Spring et pourraient la retarder.
+ * <p>
+ * Les identifiants étant attribués à l'insertion et non au commit, un identifiant sauté par la lecture
+ * est relu pendant {@code gap-timeout} : il peut appartenir à une transaction encore ouverte.
+ * Au démarrage, les événements de {@code replay-window} sont rejoués ; après une interruption plus longue
+ * que {@code retention}, tous les caches sont vidés.
+ */
+@Slf4j
+public class InvalidationBus {
+
+    // Au-delà, un saut d'identifiants n'est pas une transaction en cours (ex. reprise d'auto-incrément)
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    private final CacheInvalidationRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationTransport transport;
+    private final List<InvalidationListener> listeners;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration replayWindow;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter publishedEvents;
+    private final Counter receivedEvents;
+    private final Timer propagation;
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+    // Protégés par pollLock
+    private Long cursor;
+    private final Map<Long, LocalDateTime> gaps = new LinkedHashMap<>();
+    private LocalDateTime lastSuccessfulPoll;
+    private ScheduledExecutorService poller;
+
+    public InvalidationBus(CacheInvalidationRepository repository, PlatformTransactionManager transactionManager,
+                           InvalidationTransport transport, List<InvalidationListener> listeners,
+                           MeterRegistry meterRegistry, int batchSize, Duration pollInterval,
+                           Duration replayWindow, Duration gapTimeout, Duration retention) {
+        this.repository = repository;
+        // Transaction en écriture : la lecture doit voir le primaire, jamais une réplique en retard
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transport = transport;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.replayWindow = replayWindow;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.publishedEvents = Counter.builder("cache.invalidation.events").tag("direction", "published")
+                .register(meterRegistry);
+        this.receivedEvents = Counter.builder("cache.invalidation.events").tag("direction", "received")
+                .register(meterRegistry);
+        this.propagation = Timer.builder("cache.invalidation.propagation")
+                .description("Délai entre l'écriture sur un nœud et l'éviction sur un autre")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.gaps", gaps, Map::size).register(meterRegistry);
+    }
+
+    public void start() {
+        log.info("Cache invalidation bus started (node {}, transport {}, {} listener(s))",
+                nodeId, transport.name(), listeners.size());
+        poller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "cache-invalidation-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // Une exception arrêterait les lectures suivantes
+                log.error("Cache invalidation poll failed", e);
+            }
+        }, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        transport.start(this::poll);
+    }
+
+    public void stop() {
+        transport.stop();
+        poller.shutdownNow();
+    }
+
+    /**
+     * Enregistre l'invalidation dans la transaction courante ; sans transaction, elle est validée aussitôt.
+     */
+    public void publish(CachedEntity entity, String id) {
+        CacheInvalidation change = repository.save(
+                new CacheInvalidation(null, entity, id, nodeId, LocalDateTime.now()));
+        InvalidationEvent event = toEvent(change, true);
+        transport.published(event);
+        publishedEvents.increment();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    public void poll() {
+        pollLock.lock();
+        Long previousCursor = cursor;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (lastSuccessfulPoll != null && lastSuccessfulPoll.plus(retention).isBefore(now)) {
+                log.warn("Cache invalidations not read since {}, some may have been purged: clearing all caches",
+                        lastSuccessfulPoll);
+                listeners.forEach(InvalidationListener::invalidateAll);
+            }
+            List<CacheInvalidation> changes = transactionTemplate.execute(status -> readChanges(now));
+            lastSuccessfulPoll = now;
+            for (CacheInvalidation change : changes) {
+                if (nodeId.equals(change.getNodeId())) {
+                    continue;
+                }
+                receivedEvents.increment();
+                Duration delay = Duration.between(change.getCreatedAt(), LocalDateTime.now());
+                propagation.record(delay.isNegative() ? Duration.ZERO : delay);
+                dispatch(toEvent(change, false));
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // Relira le même intervalle au prochain passage
+            cursor = previousCursor;
+            log.warn("Failed to read cache invalidations: {}", e.getMessage());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval:PT5M}")
+    public void purge() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    repository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+            log.debug("Purged {} cache invalidation(s)", deleted);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to purge cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private List<CacheInvalidation> readChanges(LocalDateTime now) {
+        if (cursor == null) {
+            cursor = repository.findFirstByCreatedAtBeforeOrderByIdDesc(now.minus(replayWindow))
+                    .map(CacheInvalidation::getId)
+                    .orElse(0L);
+        }
+        List<CacheInvalidation> changes = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            for (CacheInvalidation late : repository.findByIdInOrderByIdAsc(gaps.keySet())) {
+                gaps.remove(late.getId());
+                changes.add(late);
+            }
+            LocalDateTime expired = now.minus(gapTimeout);
+            gaps.values().removeIf(firstSeen -> firstSeen.isBefore(expired));
+        }
+        List<CacheInvalidation> batch;
+        do {
+            batch = repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(batchSize));
+            for (CacheInvalidation change : batch) {
+                if (change.getId() - cursor - 1 <= MAX_TRACKED_GAP) {
+                    for (long missing = cursor + 1; missing < change.getId(); missing++) {
+                        gaps.put(missing, now);
+                    }
+                }
+                cursor = change.getId();
+                changes.add(change);
+            }
+        } while (batch.size() == batchSize);
+        return changes;
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener {} failed for {} {}",
+                        listener.getClass().getSimpleName(), event.getEntity(), event.getId(), e);
+            }
+        }
+    }
+
+    private static InvalidationEvent toEvent(CacheInvalidation change, boolean local) {
+        return new InvalidationEvent(change.getEntity(), change.getEntityId(), change.getId(),
+                change.getCreatedAt(), local);
+    }
+}
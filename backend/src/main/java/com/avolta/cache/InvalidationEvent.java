@@ -0,0 +1,16 @@
+package com.avolta.cache;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class InvalidationEvent {
+    CachedEntity entity;
+    String id;
+    // Numéro de séquence de la ligne cache_invalidations, croissant dans l'ordre d'insertion
+    long version;
+    LocalDateTime createdAt;
+    // true pour une écriture de ce nœud, appliquée dès le commit sans attendre le transport
+    boolean local;
+}
@@ -0,0 +1,15 @@
+package com.avolta.cache;
+
+/**
+ * Cache en mémoire à tenir cohérent entre les nœuds. Les implémentations filtrent les entités
+ * qui les concernent ; une éviction doit être idempotente, un même événement pouvant être rejoué.
+ */
+public interface InvalidationListener {
+
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Appelé quand des événements ont pu être perdus (interruption plus longue que la rétention).
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,19 @@
+package com.avolta.cache;
+
+/**
+ * Chemin rapide de propagation. La table {@code cache_invalidations} reste la source de vérité :
+ * le transport ne fait que réveiller la lecture de la table sur les autres nœuds.
+ */
+public interface InvalidationTransport {
+
+    String name();
+
+    /**
+     * Appelé dans la transaction d'écriture, juste après l'insertion de l'événement.
+     */
+    void published(InvalidationEvent event);
+
+    void start(Runnable wakeUp);
+
+    void stop();
+}
@@ -0,0 +1,25 @@
+package com.avolta.cache;
+
+/**
+ * Transport par défaut : aucun réveil, les nœuds lisent la table à chaque
+ * {@code app.cache.invalidation.poll-interval}, qui borne la latence de propagation.
+ */
+public class PollingInvalidationTransport implements InvalidationTransport {
+
+    @Override
+    public String name() {
+        return "polling";
+    }
+
+    @Override
+    public void published(InvalidationEvent event) {
+    }
+
+    @Override
+    public void start(Runnable wakeUp) {
+    }
+
+    @Override
+    public void stop() {
+    }
+}
@@ -0,0 +1,99 @@
+package com.avolta.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Transport PostgreSQL : {@code pg_notify} dans la transaction d'écriture (délivré au commit seulement)
+ * et un thread par nœud en {@code LISTEN} sur une connexion dédiée, hors pool Hikari.
+ * Chaque (re)connexion déclenche une lecture de la table pour rattraper les notifications manquées.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PostgresNotifyInvalidationTransport implements InvalidationTransport {
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    // Identifiant SQL : jamais issu d'une saisie utilisateur
+    private final String channel;
+    private final Duration listenTimeout;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+
+    @Override
+    public void published(InvalidationEvent event) {
+        // Charge utile constante : PostgreSQL fusionne les notifications identiques d'une même transaction
+        jdbcTemplate.query("SELECT pg_notify(?, '')", resultSet -> null, channel);
+    }
+
+    @Override
+    public void start(Runnable wakeUp) {
+        running = true;
+        listener = new Thread(() -> listen(wakeUp), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Runnable wakeUp) {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for cache invalidations on channel {}", channel);
+                wakeUp.run();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) listenTimeout.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        wakeUp.run();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {}: {}",
+                            RECONNECT_DELAY, e.getMessage());
+                    pause();
+                }
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation wake-up failed", e);
+                pause();
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
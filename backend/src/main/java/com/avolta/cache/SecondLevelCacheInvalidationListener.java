@@ -0,0 +1,36 @@
+package com.avolta.cache;
+
+import com.avolta.models.Publication;
+import com.avolta.models.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+
+/**
+ * Évince les régions Hibernate des écritures faites sur un autre nœud. Les écritures locales
+ * sont déjà répercutées par Hibernate dans le cache de second niveau.
+ */
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener implements InvalidationListener {
+
+    private final Cache cache;
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.isLocal()) {
+            return;
+        }
+        switch (event.getEntity()) {
+            case PUBLICATION -> cache.evictEntityData(Publication.class, event.getId());
+            case USER -> {
+                cache.evictEntityData(User.class, event.getId());
+                // Pas d'éviction ciblée par identifiant naturel : l'email n'est pas dans l'événement
+                cache.evictNaturalIdData(User.class);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.evictAllRegions();
+    }
+}
@@ -0,0 +1,83 @@
+package com.avolta.config;
+
+import com.avolta.cache.InvalidationBus;
+import com.avolta.cache.InvalidationListener;
+import com.avolta.cache.InvalidationTransport;
+import com.avolta.cache.PollingInvalidationTransport;
+import com.avolta.cache.PostgresNotifyInvalidationTransport;
+import com.avolta.cache.SecondLevelCacheInvalidationListener;
+import com.avolta.repositories.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bus d'invalidation des caches en mémoire entre les instances du backend.
+ * Transport {@code auto} : NOTIFY/LISTEN si {@code spring.datasource.url} désigne PostgreSQL, sinon lecture
+ * périodique de la table seule.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Value("${app.cache.invalidation.transport:auto}")
+    private String transport;
+
+    @Value("${app.cache.invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.cache.invalidation.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    @Value("${app.cache.invalidation.replay-window:PT1M}")
+    private Duration replayWindow;
+
+    @Value("${app.cache.invalidation.gap-timeout:PT1M}")
+    private Duration gapTimeout;
+
+    @Value("${app.cache.invalidation.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${app.cache.invalidation.postgres.channel:avolta_cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.postgres.listen-timeout:PT5S}")
+    private Duration listenTimeout;
+
+    @Bean
+    public InvalidationTransport invalidationTransport(DataSourceProperties dataSourceProperties,
+                                                       JdbcTemplate jdbcTemplate) {
+        String url = dataSourceProperties.determineUrl();
+        boolean postgres = "postgres".equalsIgnoreCase(transport)
+                || ("auto".equalsIgnoreCase(transport) && url != null && url.startsWith("jdbc:postgresql:"));
+        if (!postgres) {
+            return new PollingInvalidationTransport();
+        }
+        return new PostgresNotifyInvalidationTransport(jdbcTemplate, url, dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), channel, listenTimeout);
+    }
+
+    @Bean
+    public SecondLevelCacheInvalidationListener secondLevelCacheInvalidationListener(
+            EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheInvalidationListener(entityManagerFactory.unwrap(SessionFactory.class).getCache());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public InvalidationBus invalidationBus(CacheInvalidationRepository repository,
+                                           PlatformTransactionManager transactionManager,
+                                           InvalidationTransport invalidationTransport,
+                                           List<InvalidationListener> listeners,
+                                           MeterRegistry meterRegistry) {
+        return new InvalidationBus(repository, transactionManager, invalidationTransport, listeners, meterRegistry,
+                batchSize, pollInterval, replayWindow, gapTimeout, retention);
+    }
+}
@@ -0,0 +1,37 @@
+package com.avolta.config;
+
+import com.avolta.events.DomainEventBus;
+import com.avolta.events.DomainEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class DomainEventConfig {
+
+    @Value("${app.events.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${app.events.max-publish-wait:PT0.5S}")
+    private Duration maxPublishWait;
+
+    @Value("${app.events.drain-timeout:PT5S}")
+    private Duration drainTimeout;
+
+    @Bean(destroyMethod = "stop")
+    public DomainEventBus domainEventBus(ObjectProvider<DomainEventConsumer> consumers, MeterRegistry meterRegistry) {
+        return new DomainEventBus(() -> consumers.orderedStream().toList(), bufferSize, maxPublishWait,
+                drainTimeout, meterRegistry);
+    }
+
+    // Démarre une fois tous les singletons créés, avant l'ouverture du port HTTP
+    @Bean
+    public SmartInitializingSingleton domainEventBusStarter(DomainEventBus domainEventBus) {
+        return domainEventBus::start;
+    }
+}
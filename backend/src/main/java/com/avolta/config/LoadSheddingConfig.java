@@ -0,0 +1,61 @@
+package com.avolta.config;
+
+import com.avolta.overload.AdaptiveConcurrencyLimiter;
+import com.avolta.overload.RequestPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Délestage sous surcharge : limite de concurrence adaptative et parts de la limite par classe de priorité. Le
+ * filtre est ajouté à la chaîne de sécurité par {@link SecurityConfig}.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Value("${app.overload.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.overload.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${app.overload.min-limit:20}")
+    private int minLimit;
+
+    // Pool Tomcat par défaut : au-delà, les requêtes attendent de toute façon un thread
+    @Value("${app.overload.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.overload.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.overload.window:PT1S}")
+    private Duration window;
+
+    @Value("${app.overload.min-samples:10}")
+    private int minSamples;
+
+    @Value("${app.overload.baseline-interval:PT5M}")
+    private Duration baselineInterval;
+
+    @Value("${app.overload.share.normal:0.9}")
+    private double normalShare;
+
+    @Value("${app.overload.share.bulk:0.5}")
+    private double bulkShare;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, window, minSamples,
+                baselineInterval, Map.of(RequestPriority.CRITICAL, 1.0, RequestPriority.NORMAL, normalShare,
+                RequestPriority.BULK, bulkShare), meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
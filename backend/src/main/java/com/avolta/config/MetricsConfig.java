@@ -0,0 +1,25 @@
+package com.avolta.config;
+
+import com.avolta.monitoring.HibernateRequestStatisticsCollector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernateRequestStatisticsCollector hibernateRequestStatisticsCollector() {
+        return new HibernateRequestStatisticsCollector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsHibernateCustomizer(
+            HibernateRequestStatisticsCollector collector) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, collector);
+            properties.put(AvailableSettings.INTERCEPTOR, collector);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.avolta.config;
+
+import com.avolta.stream.SseBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Flux SSE des publications. Le nombre de connexions tenues par nœud est aussi borné par
+ * {@code server.tomcat.max-connections} et par la limite de descripteurs de fichiers du processus.
+ */
+@Configuration
+public class PublicationStreamConfig {
+
+    @Value("${app.publications.stream.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${app.publications.stream.max-queued-frames:32}")
+    private int maxQueuedFrames;
+
+    @Value("${app.publications.stream.max-lifetime:PT30M}")
+    private Duration maxLifetime;
+
+    @Value("${app.publications.stream.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    @Bean(destroyMethod = "stop")
+    public SseBroadcaster sseBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new SseBroadcaster(objectMapper, meterRegistry, maxConnections, maxQueuedFrames, maxLifetime,
+                reconnectDelay);
+    }
+}
@@ -0,0 +1,51 @@
+package com.avolta.config;
+
+import com.avolta.ratelimit.RateLimitRule;
+import com.avolta.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Limitation de débit par client des écritures publiques (likes, inscription à la newsletter). Le filtre est
+ * ajouté à la chaîne de sécurité par {@link SecurityConfig}.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${app.rate-limit.idle-timeout:PT10M}")
+    private Duration idleTimeout;
+
+    @Value("${app.rate-limit.like.capacity:10}")
+    private int likeCapacity;
+
+    @Value("${app.rate-limit.like.refill-interval:PT2S}")
+    private Duration likeRefillInterval;
+
+    @Value("${app.rate-limit.subscribe.capacity:5}")
+    private int subscribeCapacity;
+
+    @Value("${app.rate-limit.subscribe.refill-interval:PT1M}")
+    private Duration subscribeRefillInterval;
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(MeterRegistry meterRegistry) {
+        List<RateLimitRule> rules = !enabled ? List.of() : List.of(
+                new RateLimitRule("like", HttpMethod.POST, "/api/publications/public/{id}/like",
+                        likeCapacity, likeRefillInterval),
+                new RateLimitRule("subscribe", HttpMethod.POST, "/api/newsletter/subscribe",
+                        subscribeCapacity, subscribeRefillInterval));
+        return new TokenBucketRateLimiter(rules, maxBuckets, idleTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.avolta.config;
+
+import com.avolta.datasource.ReadYourWritesTracker;
+import com.avolta.datasource.Replica;
+import com.avolta.datasource.ReplicaHealthChecker;
+import com.avolta.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Profil "replicas" : les transactions read-only sont servies par les répliques MySQL déclarées
+ * dans {@code app.datasource.replica.urls}, les écritures par {@code spring.datasource.*}.
+ */
+@Configuration
+@Profile("replicas")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    @Value("${app.datasource.replica.urls}")
+    private String replicaUrls;
+
+    @Value("${app.datasource.replica.username}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.connection-timeout:PT2S}")
+    private Duration replicaConnectionTimeout;
+
+    @Value("${app.datasource.replica.max-lag:PT5S}")
+    private Duration maxLag;
+
+    @Value("${app.datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replica.health-check-interval:PT5S}")
+    private Duration healthCheckInterval;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             MeterRegistry meterRegistry) {
+        List<Replica> replicas = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty())
+                .toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + (i + 1));
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(replicaUsername);
+            dataSource.setPassword(replicaPassword);
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(replicaPoolSize);
+            dataSource.setReadOnly(true);
+            // Court : une réplique qui ne répond plus bascule vite sur le primaire
+            dataSource.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            // Une réplique absente au démarrage ne doit pas empêcher l'application de démarrer
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.getLag().toMillis() / 1000.0)
+                    .description("Last measured replication lag")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica,
+                            r -> r.isHealthy() && r.getLag().compareTo(maxLag) <= 0 ? 1 : 0)
+                    .description("1 when the replica receives read-only transactions")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker, maxLag, meterRegistry);
+    }
+
+    /**
+     * La fenêtre de lecture sur le primaire après une écriture couvre le retard maximal toléré :
+     * toute réplique encore utilisée a rattrapé l'écriture une fois la fenêtre écoulée.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(maxLag);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), readYourWritesTracker, lagQuery,
+                healthCheckInterval);
+    }
+
+    // Connexion obtenue à la première requête SQL, quand le caractère read-only de la transaction est connu
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                readYourWritesTracker().recordWriteIfAny();
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.avolta.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Encodages binaires des réponses, choisis par l'en-tête {@code Accept} : {@code application/cbor} et
+ * {@code application/x-jackson-smile}. Le JSON reste la réponse par défaut.
+ * <p>
+ * Spring MVC ajoute ces convertisseurs de lui-même quand les bibliothèques sont présentes, mais avec un
+ * {@code ObjectMapper} neuf. Ceux-ci le remplacent et partent du constructeur de Spring Boot : mêmes modules,
+ * mêmes dates ISO et mêmes filtres de champs ({@code ?fields=}) qu'en JSON.
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    // Le constructeur de Spring Boot est un prototype : chaque injection en reçoit un neuf
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.avolta.config;
+
+import com.avolta.search.PublicationSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Index de recherche des publications. Chaque nœud a son propre répertoire : Lucene refuse d'ouvrir
+ * un index déjà ouvert en écriture par un autre processus. Sans répertoire, l'index est tenu en mémoire.
+ */
+@Configuration
+public class SearchConfig {
+
+    @Value("${app.search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    @Bean(destroyMethod = "close")
+    public PublicationSearchIndex publicationSearchIndex() throws IOException {
+        return new PublicationSearchIndex(indexDir.isBlank() ? null : Path.of(indexDir).toAbsolutePath().normalize());
+    }
+}
@@ -0,0 +1,63 @@
+package com.avolta.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Régions du cache de second niveau Hibernate, bornées en taille et en durée de vie (Caffeine via JCache).
+ * Les statistiques par région sont publiées par hibernate-micrometer
+ * ({@code hibernate.second.level.cache.requests}, {@code hibernate.cache.natural.id.requests}).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+    public static final String PUBLICATIONS_REGION = "publications";
+
+    @Value("${app.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl:PT10M}")
+    private Duration usersTtl;
+
+    @Value("${app.cache.publications.max-size:10000}")
+    private long publicationsMaxSize;
+
+    @Value("${app.cache.publications.ttl:PT10M}")
+    private Duration publicationsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, USERS_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, USERS_BY_EMAIL_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, PUBLICATIONS_REGION, publicationsMaxSize, publicationsTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -1,9 +1,16 @@
 package com.avolta.config;
 
+import com.avolta.overload.AdaptiveConcurrencyLimiter;
+import com.avolta.overload.LoadSheddingFilter;
+import com.avolta.ratelimit.RateLimitFilter;
+import com.avolta.ratelimit.TokenBucketRateLimiter;
+import com.avolta.security.ClientAddressResolver;
 import com.avolta.security.JwtAuthorizationFilter;
 import com.avolta.security.JwtTokenProvider;
 import com.avolta.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -24,11 +31,26 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CorsConfig corsConfig;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
+    private final LoadSheddingConfig loadSheddingConfig;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
     private UserService userService;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CorsConfig corsConfig) {
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CorsConfig corsConfig, TokenBucketRateLimiter rateLimiter,
+                          ClientAddressResolver clientAddressResolver, LoadSheddingConfig loadSheddingConfig,
+                          AdaptiveConcurrencyLimiter concurrencyLimiter, ObjectMapper objectMapper) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.corsConfig = corsConfig;
+        this.rateLimiter = rateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+        this.loadSheddingConfig = loadSheddingConfig;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
     }
     
     @SuppressWarnings("removal")
@@ -53,6 +75,12 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
             
             // Swagger UI
             .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+
+            // Actuator : health et scrape Prometheus ouverts sur le seul port de management, qui n'est pas publié
+            .requestMatchers(request -> request.getLocalPort() == managementPort
+                    && (request.getRequestURI().startsWith("/actuator/health")
+                        || request.getRequestURI().equals("/actuator/prometheus"))).permitAll()
+            .requestMatchers("/actuator/**").hasAuthority("SUPERADMIN")
             
             // SUPERADMIN only endpoints
             .requestMatchers("/api/auth/register").hasAuthority("SUPERADMIN")
@@ -69,16 +97,29 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
             .requestMatchers("/api/newsletter/subscribers/**").authenticated()
 
             //Regles pour upload d'images
+            .requestMatchers("/api/upload/cleanup").hasAuthority("SUPERADMIN")
             .requestMatchers("/api/upload/**").authenticated() // Permet aux utilisateurs authentifiés de télécharger
             .requestMatchers("/api/uploads/**").permitAll() // Permet à tous d'accéder aux fichiers téléchargés
+
+            // Administration : statistiques du tableau de bord pour tous les administrateurs, profiling JFR
+            .requestMatchers("/api/admin/stats").authenticated()
+            .requestMatchers("/api/admin/**").hasAuthority("SUPERADMIN")
             // ... 
             
             // Default rule
             .anyRequest().authenticated()
         )
         .addFilterBefore(corsConfig.corsFilter(), UsernamePasswordAuthenticationFilter.class)
-        .addFilterBefore(new JwtAuthorizationFilter(jwtTokenProvider, userService),
+        // Après CORS (les 429 restent lisibles par le navigateur), avant la lecture du jeton JWT
+        .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper, clientAddressResolver),
                         UsernamePasswordAuthenticationFilter.class);
+    if (loadSheddingConfig.isEnabled()) {
+        // Avant le filtre JWT : une requête délestée ne coûte pas la vérification du jeton
+        http.addFilterBefore(new LoadSheddingFilter(concurrencyLimiter, objectMapper),
+                UsernamePasswordAuthenticationFilter.class);
+    }
+    http.addFilterBefore(new JwtAuthorizationFilter(jwtTokenProvider, userService),
+                    UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
 }
@@ -88,8 +129,9 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         this.userService = userService;
     }
 
+    // Statique : l'encodeur ne dépend pas de la configuration de sécurité (benchmarks)
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public static PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
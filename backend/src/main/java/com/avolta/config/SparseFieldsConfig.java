@@ -0,0 +1,67 @@
+package com.avolta.config;
+
+import com.avolta.fields.FieldSelection;
+import com.avolta.fields.FieldSelectionArgumentResolver;
+import com.avolta.fields.FieldSelectionInterceptor;
+import com.avolta.fields.SparseFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Sélection de champs {@code ?fields=} : les DTO filtrables portent un {@code @JsonFilter}, écrit en entier
+ * tant qu'aucune sélection n'est passée à l'écriture.
+ */
+@Configuration
+public class SparseFieldsConfig implements WebMvcConfigurer {
+
+    static {
+        // Documenté comme le paramètre de requête « fields »
+        SpringDocUtils.getConfig().replaceWithClass(FieldSelection.class, String.class);
+    }
+
+    private final FieldSelectionArgumentResolver fieldSelectionResolver;
+
+    public SparseFieldsConfig(ObjectMapper objectMapper) {
+        this.fieldSelectionResolver = new FieldSelectionArgumentResolver(objectMapper);
+    }
+
+    // Statique : l'ObjectMapper en dépend, il ne peut pas attendre cette configuration
+    @Bean
+    public static Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilters() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    // Méthodes annotées @SparseFields : le paramètre « fields » n'apparaît pas dans leur signature
+    @Bean
+    public OperationCustomizer sparseFieldsParameter() {
+        return (operation, handlerMethod) -> {
+            if (handlerMethod.hasMethodAnnotation(SparseFields.class)) {
+                operation.addParametersItem(new QueryParameter().name(FieldSelectionArgumentResolver.PARAMETER)
+                        .schema(new StringSchema()));
+            }
+            return operation;
+        };
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(fieldSelectionResolver);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new FieldSelectionInterceptor(fieldSelectionResolver));
+    }
+}
@@ -0,0 +1,34 @@
+package com.avolta.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Journalise le mode d'exécution des requêtes au démarrage (profil "virtual-threads").
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}: falling back to platform threads", javaVersion);
+        } else if (virtualThreadsRequested) {
+            log.info("Request execution on virtual threads, concurrency limited by a {}-connection pool",
+                    maximumPoolSize);
+        } else {
+            log.info("Request execution on platform threads");
+        }
+    }
+}
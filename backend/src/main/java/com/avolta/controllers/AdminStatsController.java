@@ -0,0 +1,30 @@
+package com.avolta.controllers;
+
+import com.avolta.dto.AdminStatsDto;
+import com.avolta.dto.responses.ApiResponse;
+import com.avolta.monitoring.QueryBudget;
+import com.avolta.services.AdminStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+@Tag(name = "Statistics", description = "Admin dashboard statistics")
+public class AdminStatsController {
+
+    private final AdminStatsService adminStatsService;
+
+    @Operation(summary = "Get dashboard statistics",
+            description = "Requires authentication. Counters are written every minute; one statement whatever the data size")
+    @QueryBudget(1)
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<AdminStatsDto>> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(ApiResponse.success(adminStatsService.getStats(days)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.avolta.controllers;
+
+import com.avolta.fields.FieldSelection;
+import com.avolta.monitoring.QueryBudgetAdvice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Écrit une réponse {@link com.avolta.dto.responses.ApiResponse} dont la liste {@code data} est sérialisée ligne
+ * par ligne, au fil de la lecture en base : la mémoire ne dépend pas du nombre de lignes et le premier octet part
+ * avec la première ligne.
+ * <p>
+ * L'écriture reste sur le thread de la requête (statistiques SQL, contexte de sécurité, routage vers le primaire).
+ * Le statut 200 est envoyé avant la lecture : une erreur en cours de route laisse un JSON tronqué, que le client
+ * ne peut pas prendre pour une liste complète. L'en-tête {@code X-Query-Count} n'est pas posé : le budget de
+ * requêtes est contrôlé une fois la réponse écrite ({@link QueryBudgetAdvice#checkStreamed}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ApiResponseStreamer {
+
+    private final ObjectMapper objectMapper;
+    private final QueryBudgetAdvice queryBudgetAdvice;
+
+    /**
+     * Source des lignes, parcourue dans sa propre transaction.
+     */
+    @FunctionalInterface
+    interface RowSource<T> {
+        void forEach(Consumer<T> action);
+    }
+
+    <T> void write(HttpServletResponse response, Class<T> rowType, RowSource<T> rows) throws IOException {
+        write(response, objectMapper.writerFor(rowType), rows);
+    }
+
+    /**
+     * Lignes réduites aux champs de la sélection.
+     */
+    <T> void write(HttpServletResponse response, Class<T> rowType, FieldSelection fields, RowSource<T> rows)
+            throws IOException {
+        write(response, objectMapper.writerFor(rowType).with(fields.filters()), rows);
+    }
+
+    private <T> void write(HttpServletResponse response, ObjectWriter writer, RowSource<T> rows) throws IOException {
+        // Sans flush après chaque ligne : le tampon du générateur puis celui du conteneur décident des envois
+        ObjectWriter rowWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // En cas d'erreur, ne pas refermer les crochets ouverts : la réponse doit rester invalide
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        AtomicLong written = new AtomicLong();
+        try (generator) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", "Operation successful");
+            generator.writeArrayFieldStart("data");
+            rows.forEach(row -> {
+                try {
+                    rowWriter.writeValue(generator, row);
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeFieldName("timestamp");
+            objectMapper.writeValue(generator, LocalDateTime.now());
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            // Client parti : rien à lui envoyer de plus
+            log.debug("Streamed response aborted: {}", e.getMessage());
+            throw e.getCause();
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+        queryBudgetAdvice.checkStreamed(request, written.get());
+    }
+}
@@ -5,6 +5,7 @@ import com.avolta.dto.requests.CreateUserRequest;
 import com.avolta.dto.requests.LoginRequest;
 import com.avolta.dto.responses.ApiResponse;
 import com.avolta.dto.responses.JwtAuthResponse;
+import com.avolta.monitoring.QueryBudget;
 import com.avolta.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -38,6 +39,7 @@ public class AuthController {
     private AuthenticationManager authenticationManager;
 
     @Operation(summary = "Register a new admin user", description = "Only super admins can create new admin users")
+    @QueryBudget(3)
     @PostMapping("/register")
     @PreAuthorize("hasAuthority('SUPERADMIN')")
     public ResponseEntity<ApiResponse<UserDto>> registerUser(@Valid @RequestBody CreateUserRequest request) {
@@ -46,6 +48,7 @@ public class AuthController {
                 HttpStatus.CREATED);
     }
 
+    @QueryBudget(2)
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<JwtAuthResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -3,6 +3,9 @@ package com.avolta.controllers;
 import com.avolta.dto.CommentDto;
 import com.avolta.dto.requests.CreateCommentRequest;
 import com.avolta.dto.responses.ApiResponse;
+import com.avolta.fields.FieldSelection;
+import com.avolta.fields.SparseFields;
+import com.avolta.monitoring.QueryBudget;
 import com.avolta.services.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,13 +28,17 @@ public class CommentController {
     private final CommentService commentService;
 
     @Operation(summary = "Get all comments for a publication", description = "Public endpoint")
+    @QueryBudget(3)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CommentDto>>> getCommentsByPublicationId(@PathVariable String publicationId) {
-        List<CommentDto> comments = commentService.getCommentsByPublicationId(publicationId);
+    public ResponseEntity<ApiResponse<List<CommentDto>>> getCommentsByPublicationId(
+            @PathVariable String publicationId,
+            @SparseFields(CommentDto.class) FieldSelection fields) {
+        List<CommentDto> comments = commentService.getCommentsByPublicationId(publicationId, fields);
         return ResponseEntity.ok(ApiResponse.success(comments));
     }
 
     @Operation(summary = "Create a new comment", description = "Requires authentication")
+    @QueryBudget(6)
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<CommentDto>> createComment(
@@ -43,6 +50,7 @@ public class CommentController {
     }
 
     @Operation(summary = "Delete a comment", description = "Requires authentication")
+    @QueryBudget(6)
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> deleteComment(@PathVariable String id) {
@@ -1,9 +1,15 @@
 package com.avolta.controllers;
 
+import com.avolta.dto.UploadCleanupReport;
+import com.avolta.dto.responses.ApiResponse;
+import com.avolta.services.UploadCleanupService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,8 +24,11 @@ import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/upload")
+@RequiredArgsConstructor
 public class FileUploadController {
 
+    private final UploadCleanupService uploadCleanupService;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
@@ -64,6 +73,19 @@ public class FileUploadController {
     }
     }
 
+    @Operation(summary = "Clean up orphaned uploads", description = "Only super admins can access this endpoint")
+    @PostMapping("/cleanup")
+    @PreAuthorize("hasAuthority('SUPERADMIN')")
+    public ResponseEntity<ApiResponse<UploadCleanupReport>> cleanupOrphanedUploads(
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        UploadCleanupReport report = uploadCleanupService.cleanup(dryRun);
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Upload cleanup already running", null));
+        }
+        return ResponseEntity.ok(ApiResponse.success(dryRun ? "Dry run completed" : "Cleanup completed", report));
+    }
+
     /*@GetMapping("/uploads/{filename}")
     public ResponseEntity<?> getFile(@PathVariable String filename) {
         try {
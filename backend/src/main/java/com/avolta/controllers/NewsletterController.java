@@ -3,9 +3,11 @@ package com.avolta.controllers;
 import com.avolta.dto.NewsletterSubscriberDto;
 import com.avolta.dto.requests.NewsletterSubscriptionRequest;
 import com.avolta.dto.responses.ApiResponse;
+import com.avolta.monitoring.QueryBudget;
 import com.avolta.services.NewsletterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -13,7 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/newsletter")
@@ -22,16 +24,19 @@ import java.util.List;
 public class NewsletterController {
 
     private final NewsletterService newsletterService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
-    @Operation(summary = "Get all newsletter subscribers", description = "Only authenticated users can access this endpoint")
+    @Operation(summary = "Get all newsletter subscribers",
+            description = "Only authenticated users can access this endpoint. Streamed response")
+    @QueryBudget(2)
     @GetMapping("/subscribers")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<List<NewsletterSubscriberDto>>> getAllSubscribers() {
-        List<NewsletterSubscriberDto> subscribers = newsletterService.getAllSubscribers();
-        return ResponseEntity.ok(ApiResponse.success(subscribers));
+    public void getAllSubscribers(HttpServletResponse response) throws IOException {
+        apiResponseStreamer.write(response, NewsletterSubscriberDto.class, newsletterService::forEachSubscriber);
     }
 
     @Operation(summary = "Subscribe to newsletter", description = "Public endpoint")
+    @QueryBudget(4)
     @PostMapping("/subscribe")
     public ResponseEntity<ApiResponse<NewsletterSubscriberDto>> subscribe(
             @Valid @RequestBody NewsletterSubscriptionRequest request) {
@@ -40,6 +45,7 @@ public class NewsletterController {
     }
 
     @Operation(summary = "Unsubscribe from newsletter", description = "Public endpoint")
+    @QueryBudget(3)
     @DeleteMapping("/unsubscribe")
     public ResponseEntity<ApiResponse<Void>> unsubscribe(@RequestParam String email) {
         newsletterService.unsubscribe(email);
@@ -47,6 +53,7 @@ public class NewsletterController {
     }
 
     @Operation(summary = "Delete a subscriber", description = "Only authenticated users can access this endpoint")
+    @QueryBudget(4)
     @DeleteMapping("/subscribers/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> deleteSubscriber(@PathVariable String id) {
@@ -55,6 +62,7 @@ public class NewsletterController {
     }
 
     @Operation(summary = "Send test email", description = "Only authenticated users can access this endpoint")
+    @QueryBudget(1)
     @PostMapping("/test")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> sendTestEmail(@RequestParam String email) {
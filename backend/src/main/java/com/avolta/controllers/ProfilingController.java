@@ -0,0 +1,72 @@
+package com.avolta.controllers;
+
+import com.avolta.dto.ProfilingStatus;
+import com.avolta.dto.responses.ApiResponse;
+import com.avolta.services.ProfilingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@RequiredArgsConstructor
+@Tag(name = "Profiling", description = "Java Flight Recorder recordings on live traffic")
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    @Operation(summary = "Get recording status", description = "Only super admins can access this endpoint")
+    @GetMapping
+    @PreAuthorize("hasAuthority('SUPERADMIN')")
+    public ResponseEntity<ApiResponse<ProfilingStatus>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success("Profiling status", profilingService.getStatus()));
+    }
+
+    @Operation(summary = "Start a JFR recording", description = "settings: 'default' (low overhead) or 'profile'")
+    @PostMapping("/start")
+    @PreAuthorize("hasAuthority('SUPERADMIN')")
+    public ResponseEntity<ApiResponse<ProfilingStatus>> start(@RequestParam(defaultValue = "default") String settings)
+            throws IOException {
+        if (!profilingService.start(settings)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("A recording is already running", profilingService.getStatus()));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Recording started", profilingService.getStatus()));
+    }
+
+    @Operation(summary = "Dump the running recording", description = "The recording keeps running")
+    @PostMapping("/dump")
+    @PreAuthorize("hasAuthority('SUPERADMIN')")
+    public ResponseEntity<?> dump() throws IOException {
+        return download(profilingService.dump());
+    }
+
+    @Operation(summary = "Stop the recording and download it", description = "Only super admins can access this endpoint")
+    @PostMapping("/stop")
+    @PreAuthorize("hasAuthority('SUPERADMIN')")
+    public ResponseEntity<?> stop() throws IOException {
+        return download(profilingService.stop());
+    }
+
+    private ResponseEntity<?> download(Path file) {
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("No recording running"));
+        }
+        Resource resource = new FileSystemResource(file);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(resource);
+    }
+}
@@ -1,12 +1,28 @@
 package com.avolta.controllers;
 
+import com.avolta.dto.PublicationBatchDto;
+import com.avolta.dto.PublicationChangesDto;
 import com.avolta.dto.PublicationDto;
+import com.avolta.dto.PublicationFacetsDto;
+import com.avolta.dto.ViewStatsDto;
 import com.avolta.dto.requests.CreatePublicationRequest;
+import com.avolta.dto.requests.PublicationBatchRequest;
 import com.avolta.dto.requests.UpdatePublicationRequest;
 import com.avolta.dto.responses.ApiResponse;
+import com.avolta.fields.FieldSelection;
+import com.avolta.fields.SparseFields;
+import com.avolta.monitoring.QueryBudget;
+import com.avolta.services.PublicationChangesService;
+import com.avolta.services.PublicationFacetService;
+import com.avolta.services.PublicationSearchService;
 import com.avolta.services.PublicationService;
+import com.avolta.services.PublicationViewService;
+import com.avolta.services.TrendingService;
+import com.avolta.stream.SseBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,6 +31,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,37 +41,125 @@ import java.util.List;
 public class PublicationController {
 
     private final PublicationService publicationService;
+    private final PublicationChangesService publicationChangesService;
+    private final SseBroadcaster sseBroadcaster;
+    private final TrendingService trendingService;
+    private final PublicationViewService publicationViewService;
+    private final PublicationSearchService publicationSearchService;
+    private final PublicationFacetService publicationFacetService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
-    @Operation(summary = "Get all publications", description = "Requires authentication")
+    @Operation(summary = "Get all publications", description = "Requires authentication. Streamed response")
+    @QueryBudget(value = 2, perBatch = 1)
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<List<PublicationDto>>> getAllPublications() {
-        List<PublicationDto> publications = publicationService.getAllPublications();
-        return ResponseEntity.ok(ApiResponse.success(publications));
+    public void getAllPublications(@SparseFields(PublicationDto.class) FieldSelection fields,
+                                   HttpServletResponse response) throws IOException {
+        apiResponseStreamer.write(response, PublicationDto.class, fields,
+                action -> publicationService.forEachPublication(fields, action));
     }
 
     @Operation(summary = "Get active publications", description = "Public endpoint")
+    @QueryBudget(2)
     @GetMapping("/public/active")
-    public ResponseEntity<ApiResponse<List<PublicationDto>>> getActivePublications() {
-        List<PublicationDto> publications = publicationService.getActivePublications();
+    public ResponseEntity<ApiResponse<List<PublicationDto>>> getActivePublications(
+            @SparseFields(PublicationDto.class) FieldSelection fields) {
+        List<PublicationDto> publications = publicationService.getActivePublications(fields);
         return ResponseEntity.ok(ApiResponse.success(publications));
     }
 
     @Operation(summary = "Get active publications by category", description = "Public endpoint")
+    @QueryBudget(2)
     @GetMapping("/public/category/{category}")
     public ResponseEntity<ApiResponse<List<PublicationDto>>> getActivePublicationsByCategory(
-            @PathVariable String category) {
-        List<PublicationDto> publications = publicationService.getActivePublicationsByCategory(category);
+            @PathVariable String category,
+            @SparseFields(PublicationDto.class) FieldSelection fields) {
+        List<PublicationDto> publications = publicationService.getActivePublicationsByCategory(category, fields);
+        return ResponseEntity.ok(ApiResponse.success(publications));
+    }
+
+    @Operation(summary = "Get changes to active publications since a sync token",
+            description = "Public endpoint. Without a valid token, returns the whole active list with reset=true")
+    @QueryBudget(3)
+    @GetMapping("/public/changes")
+    public ResponseEntity<ApiResponse<PublicationChangesDto>> getPublicationChanges(
+            @RequestParam(required = false) String since) {
+        PublicationChangesDto changes = publicationChangesService.getChangesSince(since);
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+
+    @Operation(summary = "Get trending active publications",
+            description = "Public endpoint. Likes, comments and views with time decay, best first")
+    @QueryBudget(2)
+    @GetMapping("/public/trending")
+    @SparseFields(PublicationDto.class)
+    public ResponseEntity<ApiResponse<List<PublicationDto>>> getTrendingPublications(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<PublicationDto> publications = trendingService.getTrending(category, limit);
         return ResponseEntity.ok(ApiResponse.success(publications));
     }
 
-    @Operation(summary = "Get pending publications", description = "Only super admins can access this endpoint")
-    // Dans PublicationController.java
+    @Operation(summary = "Search active publications",
+            description = "Public endpoint. Full-text search over titles, contents and comments, most relevant first")
+    @QueryBudget(2)
+    @GetMapping("/public/search")
+    @SparseFields(PublicationDto.class)
+    public ResponseEntity<ApiResponse<List<PublicationDto>>> searchPublications(
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<PublicationDto> publications = publicationSearchService.search(q, category, limit);
+        return ResponseEntity.ok(ApiResponse.success(publications));
+    }
+
+    @Operation(summary = "Count active publications per category, status and month",
+            description = "Public endpoint. Counts are kept in memory, no publication is read")
+    @QueryBudget(0)
+    @GetMapping("/public/facets")
+    public ResponseEntity<ApiResponse<PublicationFacetsDto.FacetCounts>> getActiveFacets() {
+        return ResponseEntity.ok(ApiResponse.success(publicationFacetService.getActiveFacets()));
+    }
+
+    @Operation(summary = "Stream notifications about active publications",
+            description = "Public endpoint. Server-Sent Events published, updated and expired, carrying {id, version}")
+    @QueryBudget(0)
+    @GetMapping(value = "/public/stream", produces = "text/event-stream")
+    public void streamPublications(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!sseBroadcaster.open(request, response)) {
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many stream connections");
+        }
+    }
+
+    @Operation(summary = "Get view statistics of the most viewed publications",
+            description = "Requires authentication. Unique visitors are HyperLogLog estimates, updated every flush-interval")
+    @QueryBudget(2)
+    @GetMapping("/stats/views")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ViewStatsDto>> getViewStats(@RequestParam(defaultValue = "10") int limit) {
+        ViewStatsDto stats = publicationViewService.getViewStats(limit);
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @Operation(summary = "Count active and all publications per category, status and month",
+            description = "Requires authentication. Counts are kept in memory, no publication is read")
+    @QueryBudget(0)
+    @GetMapping("/stats/facets")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<PublicationFacetsDto>> getFacets() {
+        return ResponseEntity.ok(ApiResponse.success(publicationFacetService.getFacets()));
+    }
+
+    @Operation(summary = "Get pending publications",
+            description = "Only super admins can access this endpoint. Streamed response")
+    @QueryBudget(value = 2, perBatch = 1)
     @GetMapping("/pending")
     @PreAuthorize("hasAuthority('SUPERADMIN')")
-    public ResponseEntity<ApiResponse<List<PublicationDto>>> getPendingPublications() {
-        List<PublicationDto> publications = publicationService.getPendingPublications();
-        return ResponseEntity.ok(ApiResponse.success(publications));
+    public void getPendingPublications(@SparseFields(PublicationDto.class) FieldSelection fields,
+                                       HttpServletResponse response) throws IOException {
+        apiResponseStreamer.write(response, PublicationDto.class, fields,
+                action -> publicationService.forEachPendingPublication(fields, action));
     }
 
     // @Operation(summary = "Get publication by ID", description = "Public endpoint for published publications")
@@ -65,22 +170,43 @@ public class PublicationController {
     // }
 
     @Operation(summary = "Get publication by ID", description = "Public endpoint for all publications")
+    @QueryBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<PublicationDto>> getPublicationById(@PathVariable String id) {
+    @SparseFields(PublicationDto.class)
+    public ResponseEntity<ApiResponse<PublicationDto>> getPublicationById(@PathVariable String id,
+                                                                          HttpServletRequest request) {
         PublicationDto publication = publicationService.getPublicationById(id);
+        publicationViewService.record(id, request);
         return ResponseEntity.ok(ApiResponse.success(publication));
     }
 
     @Operation(summary = "Get publication by ID", description = "Public endpoint for published publications (legacy endpoint)")
+    @QueryBudget(2)
     @GetMapping("/public/{id}")
-    public ResponseEntity<ApiResponse<PublicationDto>> getPublicPublicationById(@PathVariable String id) {
+    @SparseFields(PublicationDto.class)
+    public ResponseEntity<ApiResponse<PublicationDto>> getPublicPublicationById(@PathVariable String id,
+                                                                                HttpServletRequest request) {
         PublicationDto publication = publicationService.getPublicationById(id);
+        publicationViewService.record(id, request);
         return ResponseEntity.ok(ApiResponse.success(publication));
     }
 
 
 
+    @Operation(summary = "Get several publications by ID",
+            description = "Public endpoint. Keyed by id in request order, null and listed in notFound when unknown")
+    @QueryBudget(2)
+    @PostMapping("/public/batch")
+    @SparseFields(PublicationDto.class)
+    public ResponseEntity<ApiResponse<PublicationBatchDto>> getPublications(
+            @Valid @RequestBody PublicationBatchRequest request) {
+        PublicationBatchDto publications = publicationService.getPublications(request.getIds(),
+                request.isIncludeComments());
+        return ResponseEntity.ok(ApiResponse.success(publications));
+    }
+
     @Operation(summary = "Create a new publication", description = "Requires authentication")
+    @QueryBudget(6)
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<PublicationDto>> createPublication(
@@ -92,6 +218,7 @@ public class PublicationController {
     }
 
     @Operation(summary = "Update a publication", description = "Requires authentication")
+    @QueryBudget(5)
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<PublicationDto>> updatePublication(
@@ -102,6 +229,7 @@ public class PublicationController {
     }
 
     @Operation(summary = "Approve a publication", description = "Only super admins can access this endpoint")
+    @QueryBudget(5)
     @PutMapping("/{id}/approve")
     @PreAuthorize("hasRole('SUPERADMIN')")
     public ResponseEntity<ApiResponse<PublicationDto>> approvePublication(@PathVariable String id) {
@@ -110,6 +238,7 @@ public class PublicationController {
     }
 
     @Operation(summary = "Reject a publication", description = "Only super admins can access this endpoint")
+    @QueryBudget(8)
     @DeleteMapping("/{id}/reject")
     @PreAuthorize("hasRole('SUPERADMIN')")
     public ResponseEntity<ApiResponse<Void>> rejectPublication(@PathVariable String id) {
@@ -119,6 +248,7 @@ public class PublicationController {
     }
 
     @Operation(summary = "Delete a publication", description = "Requires authentication")
+    @QueryBudget(9)
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> deletePublication(@PathVariable String id) {
@@ -128,6 +258,7 @@ public class PublicationController {
     }
 
     @Operation(summary = "Like a publication", description = "Public endpoint")
+    @QueryBudget(3)
     @PostMapping("/public/{id}/like")
     public ResponseEntity<ApiResponse<PublicationDto>> likePublication(@PathVariable String id) {
         PublicationDto likedPublication = publicationService.likePublication(id);
@@ -2,17 +2,21 @@ package com.avolta.controllers;
 
 import com.avolta.dto.UserDto;
 import com.avolta.dto.responses.ApiResponse;
+import com.avolta.fields.FieldSelection;
+import com.avolta.fields.SparseFields;
 import com.avolta.models.User;
+import com.avolta.monitoring.QueryBudget;
 import com.avolta.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -21,24 +25,29 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
-    @Operation(summary = "Get all users", description = "Only super admins can access this endpoint")
+    @Operation(summary = "Get all users", description = "Only super admins can access this endpoint. Streamed response")
+    @QueryBudget(2)
     @GetMapping
     @PreAuthorize("hasRole('SUPERADMIN')")
-    public ResponseEntity<ApiResponse<List<UserDto>>> getAllUsers() {
-        List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public void getAllUsers(@SparseFields(UserDto.class) FieldSelection fields,
+                            HttpServletResponse response) throws IOException {
+        apiResponseStreamer.write(response, UserDto.class, fields, action -> userService.forEachUser(fields, action));
     }
 
     @Operation(summary = "Get user by ID", description = "Only super admins can access this endpoint")
+    @QueryBudget(2)
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('SUPERADMIN')")
+    @SparseFields(UserDto.class)
     public ResponseEntity<ApiResponse<UserDto>> getUserById(@PathVariable String id) {
         UserDto user = userService.getUserById(id);
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
     @Operation(summary = "Update user status", description = "Only super admins can access this endpoint")
+    @QueryBudget(3)
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('SUPERADMIN')")
     public ResponseEntity<ApiResponse<UserDto>> updateUserStatus(
@@ -49,6 +58,7 @@ public class UserController {
     }
 
     @Operation(summary = "Delete user", description = "Only super admins can access this endpoint")
+    @QueryBudget(5)
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SUPERADMIN')")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable String id) {
@@ -0,0 +1,71 @@
+package com.avolta.datasource;
+
+import com.avolta.monitoring.RequestStatistics;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Garantit qu'un auteur relit ses propres écritures : après une écriture, ses lectures restent sur le primaire
+ * pendant une fenêtre au moins égale au retard maximal toléré sur les répliques.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Vrai si la lecture en cours doit aller sur le primaire : la requête HTTP a déjà écrit,
+     * ou l'utilisateur connecté a écrit il y a moins que la fenêtre.
+     */
+    public boolean mustReadFromPrimary() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null && statistics.getWrites() > 0) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long deadline = pinnedUntil.get(user);
+        return deadline != null && deadline - System.nanoTime() > 0;
+    }
+
+    /**
+     * À appeler en fin de requête HTTP, tant que le contexte de sécurité est disponible.
+     */
+    public void recordWriteIfAny() {
+        RequestStatistics statistics = RequestStatistics.current();
+        String user = currentUser();
+        if (statistics == null || statistics.getWrites() == 0 || user == null) {
+            return;
+        }
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+        pinnedUntil.put(user, System.nanoTime() + windowNanos);
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(deadline -> deadline - now <= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
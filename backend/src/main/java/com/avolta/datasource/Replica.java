@@ -0,0 +1,38 @@
+package com.avolta.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Une réplique de lecture, son pool de connexions et son dernier état connu.
+ */
+@Getter
+public class Replica {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean healthy;
+    private volatile Duration lag = Duration.ZERO;
+
+    public Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    void update(boolean healthy, Duration lag) {
+        this.lag = lag;
+        this.healthy = healthy;
+    }
+
+    void markDown() {
+        this.healthy = false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.avolta.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vérifie périodiquement chaque réplique : connexion valide et retard de réplication mesuré.
+ * Une réplique qui ne répond pas ou dont le retard est inconnu est retirée du routage. Le contrôle a son propre
+ * thread : une tâche {@code @Scheduled} longue ne doit pas laisser une réplique en retard dans le routage.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    // Vide : pas de mesure du retard (bases indépendantes en local)
+    private final String lagQuery;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkReplicas();
+            } catch (RuntimeException e) {
+                // Une exception arrêterait les contrôles suivants
+                log.error("Replica health check failed", e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            try (Connection connection = replica.getConnection()) {
+                boolean valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+                Duration lag = valid ? measureLag(connection) : null;
+                replica.update(valid && lag != null, lag != null ? lag : replica.getLag());
+            } catch (SQLException e) {
+                replica.markDown();
+            }
+            if (!wasHealthy && replica.isHealthy()) {
+                log.info("Replica {} is UP (lag {})", replica.getName(), replica.getLag());
+            } else if (wasHealthy && !replica.isHealthy()) {
+                log.warn("Replica {} is DOWN (lag {})", replica.getName(), replica.getLag());
+            }
+        }
+        readYourWrites.purgeExpired();
+    }
+
+    /**
+     * Retard en secondes lu dans la première colonne numérique du résultat, ou dans la colonne
+     * {@code Seconds_Behind_Source}/{@code Seconds_Behind_Master} de {@code SHOW REPLICA STATUS}.
+     * Retourne {@code null} si la réplication est arrêtée (valeur NULL ou aucune ligne).
+     */
+    private Duration measureLag(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            int column = lagColumn(resultSet.getMetaData());
+            long seconds = resultSet.getLong(column);
+            return resultSet.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,103 @@
+package com.avolta.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envoie les transactions {@code @Transactional(readOnly = true)} vers une réplique disponible (tourniquet),
+ * tout le reste vers le primaire.
+ * <p>
+ * Doit être enveloppé dans un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} :
+ * la connexion n'est alors demandée qu'à la première requête SQL, une fois le caractère read-only
+ * de la transaction connu.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+    private final Counter readYourWritesReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker readYourWrites,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.fallbackReads = readCounter(meterRegistry, "primary-fallback");
+        this.readYourWritesReads = readCounter(meterRegistry, "primary-read-your-writes");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        if (readYourWrites.mustReadFromPrimary()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!isAvailable(replica)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Le prochain contrôle de santé la réintégrera si elle répond de nouveau
+                log.warn("Replica {} unavailable, marking it down: {}", replica.getName(), e.getMessage());
+                replica.markDown();
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Identifiants explicites : ceux des répliques sont propres à leur pool, la connexion va au primaire.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    private boolean isAvailable(Replica replica) {
+        return replica.isHealthy() && replica.getLag().compareTo(maxLag) <= 0;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.read.transactions")
+                .description("Read-only transactions by routing target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.avolta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminStatsDto {
+    private long publications;
+    private Map<String, Long> publicationsByStatus;
+    private long pendingPublications;
+    private long activePublications;
+    private long likes;
+    private long comments;
+    private long subscribers;
+    private long confirmedSubscribers;
+    // confirmedSubscribers / subscribers, 0 sans abonné
+    private double confirmedRatio;
+    // Journées d'activité, la plus ancienne d'abord
+    private List<DailyStats> days;
+    // Dernière écriture des compteurs ; null avant le premier flush
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyStats {
+        private LocalDate day;
+        private long publicationsCreated;
+        private long commentsAdded;
+        private long commentsDeleted;
+        private long likes;
+        private long subscribersAdded;
+        private long subscribersRemoved;
+        // subscribersAdded - subscribersRemoved
+        private long subscriberGrowth;
+    }
+}
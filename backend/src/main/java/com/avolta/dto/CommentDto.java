@@ -1,6 +1,7 @@
 package com.avolta.dto;
 
 import com.avolta.models.Comment;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,8 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Sélection ?fields=
+@JsonFilter("CommentDto")
 public class CommentDto {
     private String id;
     private String content;
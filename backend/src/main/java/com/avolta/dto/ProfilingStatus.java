@@ -0,0 +1,18 @@
+package com.avolta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingStatus {
+    private boolean recording;
+    private String settings;
+    private Instant startedAt;
+    private long durationMs;
+    private long sizeBytes;
+}
@@ -0,0 +1,20 @@
+package com.avolta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponse de {@code POST /api/publications/public/batch}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationBatchDto {
+    // Par identifiant, dans l'ordre demandé ; null pour une publication introuvable
+    private Map<String, PublicationDto> publications;
+    private List<String> notFound;
+}
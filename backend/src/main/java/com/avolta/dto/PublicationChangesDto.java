@@ -0,0 +1,19 @@
+package com.avolta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationChangesDto {
+    // À renvoyer tel quel dans ?since= à la synchronisation suivante
+    private String token;
+    // true : upserted contient toute la liste active, le client remplace sa copie locale
+    private boolean reset;
+    private List<PublicationDto> upserted;
+    private List<String> removed;
+}
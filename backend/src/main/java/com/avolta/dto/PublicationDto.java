@@ -1,9 +1,12 @@
 package com.avolta.dto;
 
+import com.avolta.models.Comment;
 import com.avolta.models.Publication;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,6 +15,8 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Sélection ?fields=
+@JsonFilter("PublicationDto")
 public class PublicationDto {
     private String id;
     private String title;
@@ -20,6 +25,8 @@ public class PublicationDto {
     private LocalDateTime validFrom;
     private LocalDateTime validTo;
     private LocalDateTime createdAt;
+    // Copie au nombre de likes à jour, sans modifier le détail partagé par le cache
+    @With
     private int likes;
     private String category;
     private Publication.Status status;
@@ -27,8 +34,16 @@ public class PublicationDto {
     private String authorName;
     private String authorEmail;
     private List<CommentDto> comments;
+    private long version;
 
     public static PublicationDto fromEntity(Publication publication) {
+        return fromEntity(publication, publication.getComments());
+    }
+
+    /**
+     * Commentaires chargés à part, sans toucher la collection de la publication (lecture par lots).
+     */
+    public static PublicationDto fromEntity(Publication publication, List<Comment> comments) {
         PublicationDto dto = new PublicationDto();
         dto.setId(publication.getId());
         dto.setTitle(publication.getTitle());
@@ -43,13 +58,22 @@ public class PublicationDto {
         dto.setAuthorId(publication.getAuthor().getId());
         dto.setAuthorName(publication.getAuthor().getEmail().split("@")[0]); // Simplified for example
         dto.setAuthorEmail(publication.getAuthor().getEmail());
+        dto.setVersion(publication.getVersion());
         
-        if (publication.getComments() != null) {
-            dto.setComments(publication.getComments().stream()
+        if (comments != null) {
+            dto.setComments(comments.stream()
                     .map(CommentDto::fromEntity)
                     .collect(Collectors.toList()));
         }
         
         return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Copie sans commentaires : les DTO du cache de détail sont partagés et ne doivent pas être modifiés.
+     */
+    public PublicationDto withoutComments() {
+        return new PublicationDto(id, title, content, imageUrl, validFrom, validTo, createdAt, likes, category, status,
+                authorId, authorName, authorEmail, null, version);
+    }
+}
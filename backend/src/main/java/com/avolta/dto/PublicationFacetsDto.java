@@ -0,0 +1,33 @@
+package com.avolta.dto;
+
+import com.avolta.facets.PublicationFacets;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationFacetsDto {
+    // Publications publiées et dans leur période de validité
+    private FacetCounts active;
+    private FacetCounts all;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCounts {
+        private long total;
+        private Map<String, Long> categories;
+        private Map<String, Long> statuses;
+        // Mois de début de validité, au format 2025-01
+        private Map<String, Long> months;
+
+        public static FacetCounts of(PublicationFacets.Snapshot snapshot) {
+            return new FacetCounts(snapshot.getTotal(), snapshot.getCategories(), snapshot.getStatuses(),
+                    snapshot.getMonths());
+        }
+    }
+}
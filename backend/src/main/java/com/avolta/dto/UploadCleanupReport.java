@@ -0,0 +1,24 @@
+package com.avolta.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class UploadCleanupReport {
+    private boolean dryRun;
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private int referencedFiles;
+    private int scannedFiles;
+    private int skippedRecentFiles;
+    private int orphanedFiles;
+    private int deletedFiles;
+    private long reclaimedBytes;
+    // Échantillon borné des fichiers orphelins, pour relecture d'un dry-run
+    private List<String> orphanedSample = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.avolta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewStatsDto {
+    private long totalViews;
+    // Visiteurs distincts sur l'ensemble des publications listées (union des sketches), estimation
+    private long uniqueVisitors;
+    private List<PublicationViews> publications;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PublicationViews {
+        private String id;
+        private String title;
+        private long views;
+        // Estimation HyperLogLog, erreur type ~3 %
+        private long uniqueVisitors;
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.avolta.dto.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationBatchRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotBlank(message = "Ids must not be blank") String> ids;
+
+    private boolean includeComments;
+}
@@ -0,0 +1,10 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+@Value
+public class CommentAdded implements DomainEvent {
+    String publicationId;
+    String commentId;
+    String authorId;
+}
@@ -0,0 +1,9 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+@Value
+public class CommentDeleted implements DomainEvent {
+    String publicationId;
+    String commentId;
+}
@@ -0,0 +1,9 @@
+package com.avolta.events;
+
+/**
+ * Événement métier publié après le commit de la transaction qui l'a produit.
+ * Les implémentations sont immuables et ne référencent aucune entité JPA : elles sont lues
+ * par d'autres threads, hors de toute session Hibernate.
+ */
+public interface DomainEvent {
+}
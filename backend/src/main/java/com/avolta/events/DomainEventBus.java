@@ -0,0 +1,251 @@
+package com.avolta.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Bus d'événements en mémoire : un tampon circulaire borné, sans verrou, partagé par tous les consommateurs.
+ * <p>
+ * Les producteurs réservent une séquence par CAS puis publient la case ; chaque consommateur avance sa propre
+ * séquence sur son thread. Une case n'est réécrite qu'une fois lue par le consommateur le plus lent : quand le
+ * tampon est plein, le producteur attend au plus {@code max-publish-wait} puis abandonne l'événement
+ * ({@code domain.events.dropped}). Le retard de chaque consommateur est publié par {@code domain.events.lag}.
+ */
+@Slf4j
+public class DomainEventBus {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final int capacity;
+    private final int mask;
+    private final int shift;
+    private final AtomicReferenceArray<Envelope> slots;
+    // Tour d'écriture de chaque case : la séquence s est lisible quand available[s & mask] == s >>> shift
+    private final AtomicIntegerArray available;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final Supplier<List<DomainEventConsumer>> consumers;
+    private final MeterRegistry meterRegistry;
+    // Vide avant start() : les événements publiés pendant le démarrage sont ignorés
+    private volatile List<Worker> workers = List.of();
+    private final long maxPublishWaitNanos;
+    private final Duration drainTimeout;
+    private volatile boolean accepting = true;
+
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+
+    public DomainEventBus(Supplier<List<DomainEventConsumer>> consumers, int capacity, Duration maxPublishWait,
+                          Duration drainTimeout, MeterRegistry meterRegistry) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Domain event buffer capacity must be a power of two: " + capacity);
+        }
+        this.consumers = consumers;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.available = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+        this.maxPublishWaitNanos = maxPublishWait.toNanos();
+        this.drainTimeout = drainTimeout;
+        this.publishedEvents = meterRegistry.counter("domain.events.published");
+        this.droppedEvents = meterRegistry.counter("domain.events.dropped");
+    }
+
+    /**
+     * Les consommateurs sont résolus ici et non à la construction : ils dépendent souvent de services
+     * qui publient eux-mêmes sur le bus.
+     */
+    public void start() {
+        List<Worker> started = new ArrayList<>();
+        for (DomainEventConsumer consumer : consumers.get()) {
+            Worker worker = new Worker(consumer, meterRegistry);
+            Gauge.builder("domain.events.lag", worker, w -> claimed.get() - w.sequence.get())
+                    .description("Événements publiés et pas encore traités par le consommateur")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+            Thread thread = new Thread(worker, "domain-events-" + consumer.name());
+            thread.setDaemon(true);
+            worker.thread = thread;
+            started.add(worker);
+        }
+        workers = List.copyOf(started);
+        workers.forEach(worker -> worker.thread.start());
+        log.info("Domain event bus started ({} slots, consumers {})", capacity,
+                workers.stream().map(w -> w.consumer.name()).toList());
+    }
+
+    /**
+     * Laisse les consommateurs vider le tampon pendant au plus {@code drain-timeout}.
+     */
+    public void stop() throws InterruptedException {
+        accepting = false;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        for (Worker worker : workers) {
+            worker.running = false;
+            worker.wake();
+        }
+        for (Worker worker : workers) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (worker.thread != null && remainingMs > 0) {
+                worker.thread.join(remainingMs);
+            }
+        }
+    }
+
+    /**
+     * Publie l'événement au commit de la transaction courante (rien en cas de rollback) ;
+     * sans transaction, il est publié aussitôt.
+     */
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(DomainEvent event) {
+        if (workers.isEmpty()) {
+            return;
+        }
+        if (!accepting) {
+            drop(event, "bus stopped");
+            return;
+        }
+        long sequence;
+        long deadline = 0;
+        boolean waiting = false;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - capacity > minimumSequence()) {
+                long now = System.nanoTime();
+                if (!waiting) {
+                    waiting = true;
+                    deadline = now + maxPublishWaitNanos;
+                } else if (now - deadline > 0) {
+                    drop(event, "buffer full");
+                    return;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                sequence = next;
+                break;
+            }
+        }
+        int index = (int) (sequence & mask);
+        slots.set(index, new Envelope(event, System.nanoTime()));
+        available.set(index, (int) (sequence >>> shift));
+        publishedEvents.increment();
+        for (Worker worker : workers) {
+            worker.wake();
+        }
+    }
+
+    private void drop(DomainEvent event, String reason) {
+        droppedEvents.increment();
+        log.warn("Domain event {} dropped: {}", event.getClass().getSimpleName(), reason);
+    }
+
+    private long minimumSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Worker worker : workers) {
+            minimum = Math.min(minimum, worker.sequence.get());
+        }
+        return minimum;
+    }
+
+    private boolean isAvailable(long sequence) {
+        return available.get((int) (sequence & mask)) == (int) (sequence >>> shift);
+    }
+
+    @Value
+    private static class Envelope {
+        DomainEvent event;
+        long enqueuedNanos;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final DomainEventConsumer consumer;
+        // Dernière séquence traitée, lue par les producteurs pour ne pas écraser une case non lue
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Counter succeeded;
+        private final Counter failed;
+        private final Timer delay;
+        private volatile boolean running = true;
+        private volatile Thread thread;
+
+        private Worker(DomainEventConsumer consumer, MeterRegistry meterRegistry) {
+            this.consumer = consumer;
+            this.succeeded = meterRegistry.counter("domain.events.consumed",
+                    "consumer", consumer.name(), "outcome", "success");
+            this.failed = meterRegistry.counter("domain.events.consumed",
+                    "consumer", consumer.name(), "outcome", "failure");
+            this.delay = Timer.builder("domain.events.delay")
+                    .description("Délai entre le commit et la fin du traitement par le consommateur")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                if (!isAvailable(next)) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+                Envelope envelope = slots.get((int) (next & mask));
+                try {
+                    consumer.onEvent(envelope.getEvent());
+                    succeeded.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.error("Domain event consumer {} failed on {}", consumer.name(), envelope.getEvent(), e);
+                }
+                delay.record(System.nanoTime() - envelope.getEnqueuedNanos(), TimeUnit.NANOSECONDS);
+                sequence.set(next);
+                next++;
+            }
+        }
+
+        private void wake() {
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+}
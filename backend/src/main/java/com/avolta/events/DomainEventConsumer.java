@@ -0,0 +1,13 @@
+package com.avolta.events;
+
+/**
+ * Consommateur d'événements, servi par son propre thread : un consommateur lent ne retarde
+ * ni les écritures ni les autres consommateurs, tant que le tampon n'est pas plein.
+ */
+public interface DomainEventConsumer {
+
+    // Nom court, utilisé pour le thread et le tag "consumer" des métriques
+    String name();
+
+    void onEvent(DomainEvent event);
+}
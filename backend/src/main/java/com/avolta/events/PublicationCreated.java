@@ -0,0 +1,9 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+@Value
+public class PublicationCreated implements DomainEvent {
+    PublicationSnapshot publication;
+    boolean sendNewsletter;
+}
@@ -0,0 +1,12 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+// Suppression comme rejet d'une publication en attente
+@Value
+public class PublicationDeleted implements DomainEvent {
+    String publicationId;
+    // Supprimés avec la publication
+    int likes;
+    int comments;
+}
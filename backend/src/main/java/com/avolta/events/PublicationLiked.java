@@ -0,0 +1,8 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+@Value
+public class PublicationLiked implements DomainEvent {
+    String publicationId;
+}
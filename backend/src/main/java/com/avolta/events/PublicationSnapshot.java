@@ -0,0 +1,23 @@
+package com.avolta.events;
+
+import com.avolta.models.Publication;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class PublicationSnapshot {
+    String id;
+    String title;
+    String category;
+    Publication.Status status;
+    String authorId;
+    LocalDateTime validFrom;
+    LocalDateTime validTo;
+
+    public static PublicationSnapshot of(Publication publication) {
+        return new PublicationSnapshot(publication.getId(), publication.getTitle(), publication.getCategory(),
+                publication.getStatus(), publication.getAuthor().getId(), publication.getValidFrom(),
+                publication.getValidTo());
+    }
+}
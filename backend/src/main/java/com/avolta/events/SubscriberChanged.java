@@ -0,0 +1,17 @@
+package com.avolta.events;
+
+import lombok.Value;
+
+@Value
+public class SubscriberChanged implements DomainEvent {
+    String subscriberId;
+    String email;
+    Change change;
+    // Confirmation avant et après le changement (false avant une inscription, après un départ)
+    boolean wasConfirmed;
+    boolean confirmed;
+
+    public enum Change {
+        SUBSCRIBED, UPDATED, UNSUBSCRIBED, DELETED
+    }
+}
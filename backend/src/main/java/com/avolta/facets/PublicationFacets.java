@@ -0,0 +1,235 @@
+package com.avolta.facets;
+
+import com.avolta.models.Publication;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Comptages des publications par catégorie, statut et mois de début de validité, pour toutes les publications
+ * et pour les seules publications actives, tenus en mémoire.
+ * <p>
+ * Chaque publication n'occupe qu'une entrée de quelques champs ; une écriture ajuste les compteurs de son
+ * ancienne et de sa nouvelle valeur. Les publications qui entrent dans leur période de validité ou en sortent
+ * sont rangées par date dans deux ensembles triés : {@link #advance(LocalDateTime)} ne parcourt que celles
+ * dont la date est passée.
+ */
+public class PublicationFacets {
+
+    private static final Comparator<Entry> BY_VALID_FROM = Comparator.comparing(Entry::getValidFrom)
+            .thenComparing(Entry::getId);
+    private static final Comparator<Entry> BY_VALID_TO = Comparator.comparing(Entry::getValidTo)
+            .thenComparing(Entry::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Protégés par lock
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Counts all = new Counts();
+    private final Counts active = new Counts();
+    // Publiées, pas encore actives
+    private final NavigableSet<Entry> upcoming = new TreeSet<>(BY_VALID_FROM);
+    // Actives, par date d'expiration
+    private final NavigableSet<Entry> expiring = new TreeSet<>(BY_VALID_TO);
+    private LocalDateTime clock;
+
+    public PublicationFacets(LocalDateTime now) {
+        this.clock = now;
+    }
+
+    /**
+     * Remplace tout le contenu, par exemple après une vérification en échec.
+     */
+    public void reset(Collection<Entry> publications, LocalDateTime now) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            all.clear();
+            active.clear();
+            upcoming.clear();
+            expiring.clear();
+            clock = now;
+            publications.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute ou remplace une publication. Rejouer la même valeur ne change rien.
+     */
+    public void put(Entry publication) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(publication.getId());
+            if (publication.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            add(publication);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active les publications dont la validité commence avant {@code now}, retire celles qui ont expiré.
+     */
+    public void advance(LocalDateTime now) {
+        lock.writeLock().lock();
+        try {
+            clock = now;
+            while (!upcoming.isEmpty() && !upcoming.first().getValidFrom().isAfter(now)) {
+                Entry starting = upcoming.pollFirst();
+                if (!starting.getValidTo().isBefore(now)) {
+                    active.add(starting, 1);
+                    expiring.add(starting);
+                }
+            }
+            while (!expiring.isEmpty() && expiring.first().getValidTo().isBefore(now)) {
+                active.add(expiring.pollFirst(), -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Snapshot active() {
+        lock.readLock().lock();
+        try {
+            return active.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Snapshot all() {
+        lock.readLock().lock();
+        try {
+            return all.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de publications par triplet catégorie, statut, mois : forme des comptages agrégés en base.
+     */
+    public Map<String, Long> groups() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> groups = new HashMap<>();
+            for (Entry entry : entries.values()) {
+                groups.merge(groupKey(entry.getCategory(), entry.getStatus(), YearMonth.from(entry.getValidFrom())),
+                        1L, Long::sum);
+            }
+            return groups;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String groupKey(String category, Publication.Status status, YearMonth month) {
+        return category + "|" + status + "|" + month;
+    }
+
+    private void add(Entry publication) {
+        entries.put(publication.getId(), publication);
+        all.add(publication, 1);
+        if (publication.getStatus() != Publication.Status.PUBLISHED || publication.getValidTo().isBefore(clock)) {
+            return;
+        }
+        if (publication.getValidFrom().isAfter(clock)) {
+            upcoming.add(publication);
+        } else {
+            active.add(publication, 1);
+            expiring.add(publication);
+        }
+    }
+
+    private void unlink(Entry publication) {
+        entries.remove(publication.getId());
+        all.add(publication, -1);
+        upcoming.remove(publication);
+        if (expiring.remove(publication)) {
+            active.add(publication, -1);
+        }
+    }
+
+    @Value
+    public static class Entry {
+        String id;
+        String category;
+        Publication.Status status;
+        LocalDateTime validFrom;
+        LocalDateTime validTo;
+    }
+
+    @Value
+    public static class Snapshot {
+        long total;
+        Map<String, Long> categories;
+        Map<String, Long> statuses;
+        Map<String, Long> months;
+    }
+
+    private static class Counts {
+        private long total;
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> statuses = new HashMap<>();
+        private final Map<String, Long> months = new HashMap<>();
+
+        void add(Entry entry, long delta) {
+            total += delta;
+            adjust(categories, entry.getCategory(), delta);
+            adjust(statuses, entry.getStatus().name(), delta);
+            adjust(months, YearMonth.from(entry.getValidFrom()).toString(), delta);
+        }
+
+        void clear() {
+            total = 0;
+            categories.clear();
+            statuses.clear();
+            months.clear();
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(total, new TreeMap<>(categories), new TreeMap<>(statuses), new TreeMap<>(months));
+        }
+
+        private static void adjust(Map<String, Long> counts, String key, long delta) {
+            counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+        }
+    }
+}
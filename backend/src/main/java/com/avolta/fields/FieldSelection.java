@@ -0,0 +1,88 @@
+package com.avolta.fields;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Champs demandés par le paramètre {@code ?fields=id,title,likes} pour un DTO annoté {@link JsonFilter}.
+ * <p>
+ * La sélection descend dans la requête (seules les colonnes et associations demandées sont lues, voir les
+ * projections des dépôts) et dans la sérialisation (seules les propriétés demandées sont écrites, via le filtre
+ * Jackson du DTO). Sans paramètre, tous les champs sont retenus et les lectures restent celles d'origine.
+ */
+public final class FieldSelection {
+
+    private final String filterId;
+    // null : tous les champs
+    private final Set<String> fields;
+
+    private FieldSelection(String filterId, Set<String> fields) {
+        this.filterId = filterId;
+        this.fields = fields;
+    }
+
+    public static FieldSelection all(Class<?> type) {
+        return new FieldSelection(filterId(type), null);
+    }
+
+    /**
+     * @param value      valeur brute du paramètre, noms séparés par des virgules
+     * @param properties propriétés sérialisées du DTO
+     * @throws IllegalArgumentException si un nom n'est pas une propriété du DTO
+     */
+    public static FieldSelection parse(Class<?> type, String value, Set<String> properties) {
+        if (value == null || value.isBlank()) {
+            return all(type);
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : value.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!properties.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of "
+                        + new TreeSet<>(properties));
+            }
+            fields.add(name);
+        }
+        return fields.isEmpty() ? all(type) : new FieldSelection(filterId(type), Collections.unmodifiableSet(fields));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Filtres à passer à l'écriture JSON ; les DTO imbriqués d'un autre type sont écrits en entier.
+     */
+    public FilterProvider filters() {
+        SimpleFilterProvider filters = new SimpleFilterProvider().setFailOnUnknownId(false);
+        return filters.addFilter(filterId, fields == null
+                ? SimpleBeanPropertyFilter.serializeAll() : SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+
+    private static String filterId(Class<?> type) {
+        JsonFilter filter = type.getAnnotation(JsonFilter.class);
+        if (filter == null) {
+            throw new IllegalStateException(type.getName() + " is not annotated with @JsonFilter");
+        }
+        return filter.value();
+    }
+}
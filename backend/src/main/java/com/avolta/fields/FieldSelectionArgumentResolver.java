@@ -0,0 +1,61 @@
+package com.avolta.fields;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Résout les paramètres {@link SparseFields} et garde la sélection dans la requête pour
+ * {@link FieldSelectionResponseBodyAdvice}. Les méthodes annotées passent par {@link FieldSelectionInterceptor}.
+ */
+public class FieldSelectionArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String PARAMETER = "fields";
+    static final String ATTRIBUTE = FieldSelection.class.getName();
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Set<String>> properties = new ConcurrentHashMap<>();
+
+    public FieldSelectionArgumentResolver(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(SparseFields.class)
+                && parameter.getParameterType() == FieldSelection.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return resolve(parameter.getParameterAnnotation(SparseFields.class).value(), webRequest);
+    }
+
+    FieldSelection resolve(Class<?> type, NativeWebRequest webRequest) {
+        FieldSelection selection = FieldSelection.parse(type, webRequest.getParameter(PARAMETER),
+                properties.computeIfAbsent(type, this::serializedProperties));
+        webRequest.setAttribute(ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+        return selection;
+    }
+
+    private Set<String> serializedProperties(Class<?> type) {
+        BeanDescription description = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type));
+        return description.findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
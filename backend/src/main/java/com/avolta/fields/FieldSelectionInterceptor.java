@@ -0,0 +1,31 @@
+package com.avolta.fields;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Résout la sélection des méthodes annotées {@link SparseFields} avant leur appel : un champ inconnu est refusé
+ * sans exécuter la méthode.
+ */
+public class FieldSelectionInterceptor implements HandlerInterceptor {
+
+    private final FieldSelectionArgumentResolver resolver;
+
+    public FieldSelectionInterceptor(FieldSelectionArgumentResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SparseFields sparseFields = method.getMethodAnnotation(SparseFields.class);
+            if (sparseFields != null) {
+                resolver.resolve(sparseFields.value(), new ServletWebRequest(request, response));
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.avolta.fields;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre {@link FieldSelection} lu dans {@code ?fields=} et validé contre les propriétés du DTO indiqué.
+ * La réponse de la méthode est alors filtrée à l'écriture. Sur la méthode, quand elle n'a pas l'usage de la
+ * sélection (réponse lue en cache, par exemple) : {@code ?fields=} est validé avant l'appel et appliqué à l'écriture.
+ */
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SparseFields {
+
+    /**
+     * DTO des éléments de la réponse, annoté {@link com.fasterxml.jackson.annotation.JsonFilter}.
+     */
+    Class<?> value();
+}
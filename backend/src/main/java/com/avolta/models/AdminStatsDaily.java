@@ -0,0 +1,86 @@
+package com.avolta.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Activité d'une journée et totaux à son dernier flush, alimentés par {@code AdminStatsService}. Une ligne par
+ * jour d'activité : la dernière porte les totaux courants.
+ */
+@Entity
+@Table(name = "admin_stats_daily")
+@Data
+@NoArgsConstructor
+public class AdminStatsDaily implements Persistable<LocalDate> {
+
+    // DAY est un mot réservé (H2, MySQL)
+    @Id
+    @Column(name = "stats_day")
+    private LocalDate day;
+
+    @Column(name = "publications_created", nullable = false)
+    private long publicationsCreated;
+
+    @Column(name = "comments_added", nullable = false)
+    private long commentsAdded;
+
+    @Column(name = "comments_deleted", nullable = false)
+    private long commentsDeleted;
+
+    @Column(nullable = false)
+    private long likes;
+
+    @Column(name = "subscribers_added", nullable = false)
+    private long subscribersAdded;
+
+    @Column(name = "subscribers_removed", nullable = false)
+    private long subscribersRemoved;
+
+    @Column(name = "total_subscribers", nullable = false)
+    private long totalSubscribers;
+
+    @Column(name = "total_confirmed_subscribers", nullable = false)
+    private long totalConfirmedSubscribers;
+
+    @Column(name = "total_likes", nullable = false)
+    private long totalLikes;
+
+    @Column(name = "total_comments", nullable = false)
+    private long totalComments;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Ligne créée par le flush : insertion directe, sans le SELECT de merge()
+    @Transient
+    private boolean isNew;
+
+    /**
+     * Nouvelle journée, dont les totaux partent de ceux de {@code previous} (zéro sans journée précédente).
+     */
+    public AdminStatsDaily(LocalDate day, AdminStatsDaily previous) {
+        this.day = day;
+        this.isNew = true;
+        if (previous != null) {
+            this.totalSubscribers = previous.totalSubscribers;
+            this.totalConfirmedSubscribers = previous.totalConfirmedSubscribers;
+            this.totalLikes = previous.totalLikes;
+            this.totalComments = previous.totalComments;
+        }
+    }
+
+    @Override
+    public LocalDate getId() {
+        return day;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
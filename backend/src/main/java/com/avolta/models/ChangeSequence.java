@@ -0,0 +1,25 @@
+package com.avolta.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compteur partagé par tous les nœuds, incrémenté en SQL par {@link com.avolta.services.PublicationVersionService}.
+ */
+@Entity
+@Table(name = "change_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequence {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // "value" est un mot réservé sous H2
+    @Column(name = "current_value", nullable = false)
+    private long value;
+}
@@ -1,9 +1,13 @@
 package com.avolta.models;
 
+import com.avolta.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -12,11 +16,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "publications")
+@Table(name = "publications", indexes = {
+        @Index(name = "idx_publications_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_publications_version", columnList = "version")
+})
+@NamedEntityGraph(name = "Publication.details", attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode(value = "comments", subgraph = "comment.author")
+}, subgraphs = @NamedSubgraph(name = "comment.author", attributeNodes = @NamedAttributeNode("author")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PUBLICATIONS_REGION)
 public class Publication {
 
     @Id
@@ -52,6 +64,15 @@ public class Publication {
     @Column(nullable = false)
     private Status status = Status.PENDING;
 
+    // Attribuée par PublicationVersionService à chaque modification du contenu ; curseur des flux de changements
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version = 0;
+
+    // Rattrapage de l'index de recherche au démarrage ; null pour les lignes antérieures à la colonne
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -59,6 +80,21 @@ public class Publication {
     @OneToMany(mappedBy = "publication", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Signale une modification, y compris hors des colonnes de la publication (ex. commentaires), avec la version
+     * obtenue de {@code PublicationVersionService#next()}.
+     */
+    public void markChanged(long newVersion) {
+        version = newVersion;
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public enum Status {
         PENDING, PUBLISHED
     }
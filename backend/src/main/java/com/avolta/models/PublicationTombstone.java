@@ -0,0 +1,47 @@
+package com.avolta.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trace d'une publication supprimée, conservée le temps que les clients du flux de changements la retirent.
+ */
+@Entity
+@Table(name = "publication_tombstones", indexes = {
+        @Index(name = "idx_publication_tombstones_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_publication_tombstones_version", columnList = "version")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationTombstone implements Persistable<String> {
+
+    @Id
+    @Column(name = "publication_id")
+    private String publicationId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Version de la suppression (PublicationVersionService)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Override
+    public String getId() {
+        return publicationId;
+    }
+
+    // Toujours une insertion : évite le SELECT de merge() sur un identifiant assigné
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
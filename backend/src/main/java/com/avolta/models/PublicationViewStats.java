@@ -0,0 +1,52 @@
+package com.avolta.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vues cumulées d'une publication et sketch HyperLogLog de ses visiteurs uniques, alimentés par lots par
+ * {@code PublicationViewService}. Taille fixe par publication.
+ */
+@Entity
+@Table(name = "publication_view_stats", indexes = @Index(name = "idx_publication_view_stats_views", columnList = "views"))
+@Data
+@NoArgsConstructor
+public class PublicationViewStats implements Persistable<String> {
+
+    @Id
+    @Column(name = "publication_id")
+    private String publicationId;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(name = "visitors_sketch", nullable = false, length = 1024)
+    private byte[] visitorsSketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Ligne créée par le flush : insertion directe, sans le SELECT de merge()
+    @Transient
+    private boolean isNew;
+
+    public PublicationViewStats(String publicationId, byte[] visitorsSketch) {
+        this.publicationId = publicationId;
+        this.visitorsSketch = visitorsSketch;
+        this.isNew = true;
+    }
+
+    @Override
+    public String getId() {
+        return publicationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
@@ -0,0 +1,31 @@
+package com.avolta.monitoring;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Compte les requêtes SQL préparées et les entités chargées pour la requête HTTP courante.
+ * Sans état : une seule instance est partagée par toute la SessionFactory.
+ */
+public class HibernateRequestStatisticsCollector implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.statementPrepared(isWrite(sql));
+        return sql;
+    }
+
+    private static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "insert", 0, 6)
+                || statement.regionMatches(true, 0, "update", 0, 6)
+                || statement.regionMatches(true, 0, "delete", 0, 6);
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.avolta.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal de requêtes SQL attendu pour un endpoint, authentification JWT comprise.
+ * Sans annotation, {@code app.query-budget.default-budget} s'applique.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+
+    /**
+     * Réponses en flux : requêtes ajoutées au budget par lot de {@code app.streaming.batch-size} lignes écrites
+     * (relations chargées par lot).
+     */
+    int perBatch() default 0;
+}
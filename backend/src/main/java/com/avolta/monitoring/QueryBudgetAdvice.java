@@ -0,0 +1,117 @@
+package com.avolta.monitoring;
+
+import com.avolta.exceptions.QueryBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Contrôle le nombre de requêtes SQL exécutées par la requête HTTP courante juste avant l'écriture
+ * de la réponse : en-tête {@value #HEADER} (en dev), puis log ou erreur si le budget est dépassé.
+ * <p>
+ * Une réponse écrite en flux ne passe pas par ici : elle est contrôlée par {@link #checkStreamed} une fois le
+ * dernier octet écrit, sans en-tête ni erreur possible.
+ */
+@Slf4j
+@ControllerAdvice
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+    private static final String CHECKED_ATTRIBUTE = QueryBudgetAdvice.class.getName() + ".CHECKED";
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    @Value("${app.query-budget.mode:LOG}")
+    private Mode mode;
+
+    @Value("${app.query-budget.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${app.query-budget.default-budget:10}")
+    private int defaultBudget;
+
+    @Value("${app.streaming.batch-size:200}")
+    private int streamingBatchSize;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return mode != Mode.OFF || headerEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        // La réponse d'erreur produite par GlobalExceptionHandler repasse ici : un seul contrôle par requête
+        if (httpRequest.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return body;
+        }
+        httpRequest.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+
+        int statements = statistics.getStatements();
+        if (headerEnabled) {
+            response.getHeaders().set(HEADER, String.valueOf(statements));
+        }
+        if (mode == Mode.OFF) {
+            return body;
+        }
+
+        QueryBudget annotation = returnType.getMethodAnnotation(QueryBudget.class);
+        int budget = annotation != null ? annotation.value() : defaultBudget;
+        if (statements > budget) {
+            String message = message(httpRequest, statements, budget);
+            if (mode == Mode.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return body;
+    }
+
+    /**
+     * Contrôle d'une réponse écrite en flux, {@code rows} lignes comprises. Le statut est déjà parti : un
+     * dépassement est journalisé, en erreur en mode FAIL.
+     */
+    public void checkStreamed(HttpServletRequest request, long rows) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics == null || mode == Mode.OFF) {
+            return;
+        }
+        QueryBudget annotation = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+                instanceof HandlerMethod handler ? handler.getMethodAnnotation(QueryBudget.class) : null;
+        long budget = annotation != null
+                ? annotation.value() + annotation.perBatch() * ((rows + streamingBatchSize - 1) / streamingBatchSize)
+                : defaultBudget;
+        int statements = statistics.getStatements();
+        if (statements > budget) {
+            String message = message(request, statements, budget) + ", " + rows + " row(s) streamed";
+            if (mode == Mode.FAIL) {
+                log.error(message);
+            } else {
+                log.warn(message);
+            }
+        }
+    }
+
+    private static String message(HttpServletRequest request, int statements, long budget) {
+        return String.format("%s %s executed %d SQL statements (budget %d)", request.getMethod(),
+                request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), statements, budget);
+    }
+}
@@ -0,0 +1,64 @@
+package com.avolta.monitoring;
+
+/**
+ * Compteurs Hibernate attachés au thread de la requête HTTP en cours.
+ * Alimentés par {@link HibernateRequestStatisticsCollector}, lus par {@link RequestMetricsFilter},
+ * {@link QueryBudgetAdvice} et le routage vers les répliques de lecture.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int writes;
+    private int entityLoads;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(boolean write) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            if (write) {
+                statistics.writes++;
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Requêtes INSERT, UPDATE ou DELETE exécutées par la requête HTTP courante.
+     */
+    public int getWrites() {
+        return writes;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+}
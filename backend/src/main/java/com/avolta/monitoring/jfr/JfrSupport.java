@@ -0,0 +1,68 @@
+package com.avolta.monitoring.jfr;
+
+import com.avolta.monitoring.RequestStatistics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Contexte commun aux événements JFR : endpoint de la requête HTTP courante et compteurs Hibernate.
+ */
+final class JfrSupport {
+
+    private JfrSupport() {
+    }
+
+    /**
+     * Pattern de l'endpoint ({@code GET /api/publications/{id}}) une fois le handler résolu,
+     * URI brute avant (filtres de sécurité), {@code null} hors requête HTTP (tâches planifiées).
+     */
+    static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    static int statements() {
+        RequestStatistics statistics = RequestStatistics.current();
+        return statistics != null ? statistics.getStatements() : 0;
+    }
+
+    static int entityLoads() {
+        RequestStatistics statistics = RequestStatistics.current();
+        return statistics != null ? statistics.getEntityLoads() : 0;
+    }
+
+    /**
+     * Nombre d'éléments d'un résultat : taille des collections, 0/1 pour les Optional et les entités,
+     * -1 quand il n'est pas connu sans consommer le résultat (Stream).
+     */
+    static int resultCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?> || result instanceof java.util.stream.BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
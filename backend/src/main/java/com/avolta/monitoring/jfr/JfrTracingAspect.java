@@ -0,0 +1,87 @@
+package com.avolta.monitoring.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Émet un événement JFR autour de chaque méthode publique des services et de chaque appel de repository.
+ * Hors enregistrement, {@code isEnabled()} court-circuite toute la collecte.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrTracingAspect {
+
+    @Around("execution(public * com.avolta.services..*Service.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        int statements = JfrSupport.statements();
+        int entityLoads = JfrSupport.entityLoads();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.resultCount = JfrSupport.resultCount(result);
+            return result;
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = JfrSupport.endpoint();
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.statements = JfrSupport.statements() - statements;
+                event.entityLoads = JfrSupport.entityLoads() - entityLoads;
+                event.commit();
+            }
+        }
+    }
+
+    // Les méthodes héritées (findById, save...) sont déclarées par Spring Data : on cible tous les sous-types de Repository
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        int statements = JfrSupport.statements();
+        int entityLoads = JfrSupport.entityLoads();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.resultCount = JfrSupport.resultCount(result);
+            return result;
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = JfrSupport.endpoint();
+                event.repository = repositoryName(joinPoint);
+                event.method = ((MethodSignature) joinPoint.getSignature()).getMethod().getName();
+                event.statements = JfrSupport.statements() - statements;
+                event.entityLoads = JfrSupport.entityLoads() - entityLoads;
+                event.commit();
+            }
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        // La cible est un proxy JDK : son premier interface applicatif est le repository déclaré
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.avolta.")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,27 @@
+package com.avolta.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.avolta.JwtAuthorization")
+@Label("JWT Authorization")
+@Description("Parsing du jeton JWT et chargement de l'utilisateur par JwtAuthorizationFilter")
+@Category({"Avolta", "Security"})
+@StackTrace(false)
+public class JwtAuthorizationEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Token Present")
+    public boolean tokenPresent;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+
+    @Label("SQL Statements")
+    public int statements;
+}
@@ -0,0 +1,37 @@
+package com.avolta.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.avolta.RepositoryCall")
+@Label("Repository Call")
+@Description("Appel d'une méthode d'un repository Spring Data")
+@Category({"Avolta", "Repository"})
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Result Count")
+    @Description("Éléments retournés, -1 si inconnu")
+    public int resultCount;
+
+    @Label("SQL Statements")
+    public int statements;
+
+    @Label("Entity Loads")
+    public int entityLoads;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,34 @@
+package com.avolta.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.avolta.Serialization")
+@Label("Response Serialization")
+@Description("Écriture JSON du corps de la réponse HTTP")
+@Category({"Avolta", "Web"})
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Payload Type")
+    public String payloadType;
+
+    @Label("Element Count")
+    @Description("Éléments de ApiResponse.data, -1 si inconnu")
+    public int elementCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Label("SQL Statements")
+    @Description("Requêtes déclenchées pendant l'écriture (chargements paresseux)")
+    public int statements;
+}
@@ -0,0 +1,37 @@
+package com.avolta.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.avolta.ServiceCall")
+@Label("Service Call")
+@Description("Appel d'une méthode publique d'un service, mapping DTO et chargements paresseux compris")
+@Category({"Avolta", "Service"})
+@StackTrace(false)
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Result Count")
+    @Description("Éléments retournés, -1 si inconnu")
+    public int resultCount;
+
+    @Label("SQL Statements")
+    public int statements;
+
+    @Label("Entity Loads")
+    public int entityLoads;
+
+    @Label("Failed")
+    public boolean failed;
+}
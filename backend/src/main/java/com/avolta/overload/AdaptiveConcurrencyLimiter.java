@@ -0,0 +1,164 @@
+package com.avolta.overload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concurrence adaptée à la latence mesurée (gradient, à la manière des limiteurs de Netflix).
+ * <p>
+ * À chaque fenêtre d'au moins {@code window} et {@code minSamples} requêtes, la latence moyenne de la fenêtre est
+ * comparée à une latence de référence, la plus basse moyenne de fenêtre observée sur les une à deux dernières
+ * {@code baselineInterval} : si elle dépasse {@code tolerance} fois la référence, la limite baisse en proportion
+ * (au plus de moitié), sinon elle remonte d'une file de {@code √limite}. La référence est un minimum et non une
+ * moyenne : une surcharge qui dure depuis le démarrage ne doit pas devenir la latence normale. Elle est oubliée
+ * par intervalles pour suivre un changement du mélange de requêtes. La limite n'évolue pas quand moins de la
+ * moitié est utilisée : une latence basse sans charge ne dit rien de la capacité.
+ * <p>
+ * Admettre une requête coûte un incrément atomique ; le calcul de la limite est fait par la requête qui clôt la
+ * fenêtre, sans bloquer les autres. Les requêtes {@link RequestPriority#BULK} occupent la limite mais ne sont
+ * pas mesurées : un export de plusieurs secondes fausserait la latence de référence.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long window;
+    private final int minSamples;
+    private final long baselineInterval;
+    private final Map<RequestPriority, Double> shares;
+    private final Map<RequestPriority, Counter> shed = new EnumMap<>(RequestPriority.class);
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder sampleNanos = new LongAdder();
+    private final LongAdder sampleCount = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int maxInflight;
+    private volatile long windowStart = System.nanoTime();
+    // Seuils d'admission par ordinal de RequestPriority, republiés à chaque changement de limite
+    private volatile int[] thresholds;
+    private volatile double limit;
+    // Minimum des moyennes de fenêtre sur l'intervalle en cours et sur le précédent
+    private double baseline = Double.MAX_VALUE;
+    private double previousBaseline = Double.MAX_VALUE;
+    private long baselineStart = windowStart;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      Duration window, int minSamples, Duration baselineInterval,
+                                      Map<RequestPriority, Double> shares, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || minLimit > maxLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit: min " + minLimit + ", max " + maxLimit
+                    + ", tolerance " + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.window = window.toNanos();
+        this.minSamples = minSamples;
+        this.baselineInterval = baselineInterval.toNanos();
+        this.shares = new EnumMap<>(shares);
+        setLimit(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+        for (RequestPriority priority : RequestPriority.values()) {
+            shed.put(priority, Counter.builder("overload.shed")
+                    .description("Requêtes refusées par le délestage")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("overload.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite de concurrence adaptative")
+                .register(meterRegistry);
+        Gauge.builder("overload.inflight", inflight, AtomicInteger::get)
+                .description("Requêtes en cours soumises à la limite")
+                .register(meterRegistry);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Admet la requête si les requêtes en cours occupent moins que la part de la limite de sa classe. Une requête
+     * admise doit être suivie de {@link #release}.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int current = inflight.incrementAndGet();
+        if (current > thresholds[priority.ordinal()]) {
+            inflight.decrementAndGet();
+            shed.get(priority).increment();
+            return false;
+        }
+        if (current > maxInflight) {
+            maxInflight = current;
+        }
+        return true;
+    }
+
+    public void release(RequestPriority priority, long startNanos) {
+        inflight.decrementAndGet();
+        if (priority == RequestPriority.BULK) {
+            return;
+        }
+        long now = System.nanoTime();
+        sampleNanos.add(now - startNanos);
+        sampleCount.increment();
+        if (now - windowStart >= window && lock.tryLock()) {
+            try {
+                closeWindow(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void closeWindow(long now) {
+        if (now - windowStart < window || sampleCount.sum() < minSamples) {
+            return;
+        }
+        long count = sampleCount.sumThenReset();
+        double shortRtt = (double) sampleNanos.sumThenReset() / count;
+        int peak = maxInflight;
+        maxInflight = inflight.get();
+        windowStart = now;
+
+        if (now - baselineStart >= baselineInterval) {
+            previousBaseline = baseline;
+            baseline = Double.MAX_VALUE;
+            baselineStart = now;
+        }
+        baseline = Math.min(baseline, shortRtt);
+        double reference = Math.min(baseline, previousBaseline);
+        double current = limit;
+        if (peak < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * reference / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        if ((int) next != (int) current) {
+            log.debug("Concurrency limit {} -> {} (latency {} ms, reference {} ms)", (int) current, (int) next,
+                    String.format("%.1f", shortRtt / 1e6), String.format("%.1f", reference / 1e6));
+        }
+        setLimit(next);
+    }
+
+    private void setLimit(double value) {
+        int[] next = new int[RequestPriority.values().length];
+        for (RequestPriority priority : RequestPriority.values()) {
+            next[priority.ordinal()] = Math.max(1, (int) Math.ceil(value * shares.getOrDefault(priority, 1.0)));
+        }
+        limit = value;
+        thresholds = next;
+    }
+}
@@ -0,0 +1,57 @@
+package com.avolta.overload;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe de priorité d'une requête face au délestage : chaque classe n'est admise que tant que les requêtes en
+ * cours occupent moins de sa part de la limite de concurrence.
+ */
+public enum RequestPriority {
+
+    /**
+     * Lectures publiques et détail d'une publication (servis par les caches), validation des publications :
+     * refusées en dernier.
+     */
+    CRITICAL,
+    NORMAL,
+    /**
+     * Exports d'administration en flux et écritures de commentaires : refusés en premier.
+     */
+    BULK;
+
+    /**
+     * @return la classe de la requête, ou {@code null} si elle n'est pas soumise à la limite (actuator,
+     * requêtes de pré-vérification CORS)
+     */
+    public static RequestPriority of(String method, String path) {
+        // Spring MVC compare les segments décodés
+        if (path.indexOf('%') >= 0) {
+            path = UriUtils.decode(path, StandardCharsets.UTF_8);
+        }
+        if ("OPTIONS".equals(method) || path.startsWith("/actuator/")) {
+            return null;
+        }
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith("/api/publications/public/")) {
+            // Le like est une écriture ; la lecture groupée est un POST
+            return read || path.equals("/api/publications/public/batch") ? CRITICAL : NORMAL;
+        }
+        if (path.startsWith("/api/publications/")
+                && ("PUT".equals(method) && path.endsWith("/approve")
+                || "DELETE".equals(method) && path.endsWith("/reject"))) {
+            return CRITICAL;
+        }
+        if (read) {
+            if (path.equals("/api/publications") || path.equals("/api/publications/pending")
+                    || path.equals("/api/users") || path.equals("/api/newsletter/subscribers")) {
+                return BULK;
+            }
+            // Détail authentifié (GET /api/publications/{id}) : servi par le cache de détail, comme le public
+            return path.startsWith("/api/publications/") && path.indexOf('/', "/api/publications/".length()) < 0
+                    ? CRITICAL : NORMAL;
+        }
+        return path.startsWith("/api/publications/") && path.contains("/comments") ? BULK : NORMAL;
+    }
+}
@@ -0,0 +1,55 @@
+package com.avolta.ratelimit;
+
+import com.avolta.dto.responses.ApiResponse;
+import com.avolta.security.ClientAddressResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applique {@link TokenBucketRateLimiter} aux routes limitées : au-delà, 429 avec {@code Retry-After}.
+ * <p>
+ * Le client est identifié par {@link ClientAddressResolver} : {@code X-Forwarded-For} n'est cru que derrière un
+ * proxy de confiance, un client en direct ne peut pas changer de seau en changeant l'en-tête.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final ClientAddressResolver clientAddressResolver;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, ObjectMapper objectMapper,
+                           ClientAddressResolver clientAddressResolver) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TokenBucketRateLimiter.Limit limit = rateLimiter.match(request.getMethod(), request.getRequestURI());
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long wait = limit.tryAcquire(clientAddressResolver.resolve(request));
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests"));
+    }
+}
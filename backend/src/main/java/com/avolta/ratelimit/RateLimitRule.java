@@ -0,0 +1,71 @@
+package com.avolta.ratelimit;
+
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+
+/**
+ * Limite d'une route : au plus {@code capacity} requêtes d'affilée par client, puis une par
+ * {@code refillInterval}.
+ * <p>
+ * Le motif est une suite de segments littéraux ou de variables {@code {nom}} (un segment non vide), par exemple
+ * {@code /api/publications/public/{id}/like}. Il est comparé au chemin sans découpage ni allocation : ce test
+ * est fait pour chaque requête.
+ */
+@Getter
+public class RateLimitRule {
+
+    private final String name;
+    private final HttpMethod method;
+    private final String pattern;
+    private final int capacity;
+    private final Duration refillInterval;
+    @Getter(lombok.AccessLevel.NONE)
+    private final String[] segments;
+
+    public RateLimitRule(String name, HttpMethod method, String pattern, int capacity, Duration refillInterval) {
+        if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit for " + name + ": capacity " + capacity
+                    + ", refill interval " + refillInterval);
+        }
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Invalid rate limit pattern for " + name + ": " + pattern);
+        }
+        this.name = name;
+        this.method = method;
+        this.pattern = pattern;
+        this.capacity = capacity;
+        this.refillInterval = refillInterval;
+        this.segments = pattern.substring(1).split("/", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty() || segment.indexOf('{') > 0 || segment.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("Invalid rate limit pattern for " + name + ": " + pattern);
+            }
+        }
+    }
+
+    boolean matches(String method, String path) {
+        if (!this.method.matches(method)) {
+            return false;
+        }
+        int start = 0;
+        for (String segment : segments) {
+            if (start >= path.length() || path.charAt(start) != '/') {
+                return false;
+            }
+            start++;
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            boolean variable = segment.charAt(0) == '{';
+            if (variable ? end == start
+                    : end - start != segment.length() || !path.regionMatches(start, segment, 0, segment.length())) {
+                return false;
+            }
+            start = end;
+        }
+        return start == path.length();
+    }
+}
@@ -0,0 +1,123 @@
+package com.avolta.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seaux à jetons par règle et par client, sans verrou.
+ * <p>
+ * Un seau tient en un seul {@code long} : l'instant, en {@link System#nanoTime()}, où il sera de nouveau plein
+ * (algorithme GCRA). Une requête avance cet instant d'un intervalle de remplissage par compare-and-set ; elle est
+ * refusée s'il dépasserait la capacité, et le temps d'attente du prochain jeton se déduit de la même valeur.
+ * <p>
+ * Chaque règle garde ses seaux dans un cache borné à {@code maxBuckets}. Les seaux pleins depuis
+ * {@code idleTimeout} sont retirés par un balayage périodique plutôt que par l'expiration du cache, dont la
+ * mise à jour à chaque lecture coûterait plus que le seau lui-même. Un seau retiré était plein : le recréer ne
+ * rend rien au client.
+ */
+public class TokenBucketRateLimiter {
+
+    private final List<Limit> limits = new ArrayList<>();
+    private final long idleTimeout;
+
+    public TokenBucketRateLimiter(List<RateLimitRule> rules, long maxBuckets, Duration idleTimeout,
+                                  MeterRegistry meterRegistry) {
+        this.idleTimeout = idleTimeout.toNanos();
+        for (RateLimitRule rule : rules) {
+            Limit limit = new Limit(rule, maxBuckets, meterRegistry);
+            Gauge.builder("rate_limit.buckets", limit.buckets, Cache::estimatedSize)
+                    .description("Seaux de limitation de débit en mémoire")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+            limits.add(limit);
+        }
+    }
+
+    /**
+     * @return la limite qui s'applique à la requête, ou {@code null}
+     */
+    public Limit match(String method, String path) {
+        // Spring MVC compare les segments décodés : /%6Cike mène aussi au like
+        if (path.indexOf('%') >= 0) {
+            path = UriUtils.decode(path, StandardCharsets.UTF_8);
+        }
+        for (Limit limit : limits) {
+            if (limit.rule.matches(method, path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Limit limit : limits) {
+            limit.buckets.asMap().values().removeIf(bucket -> now - bucket.get() >= idleTimeout);
+        }
+    }
+
+    /**
+     * Seaux d'une règle.
+     */
+    public static final class Limit {
+
+        private final RateLimitRule rule;
+        private final long interval;
+        // Avance tolérée sur l'horloge : capacity - 1 intervalles
+        private final long tolerance;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter rejected;
+
+        private Limit(RateLimitRule rule, long maxBuckets, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.interval = rule.getRefillInterval().toNanos();
+            this.tolerance = interval * (rule.getCapacity() - 1);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxBuckets)
+                    .build();
+            this.rejected = Counter.builder("rate_limit.rejected")
+                    .description("Requêtes refusées par la limitation de débit")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+        }
+
+        public RateLimitRule getRule() {
+            return rule;
+        }
+
+        /**
+         * Consomme un jeton du seau du client.
+         *
+         * @return 0 si la requête est acceptée, sinon le délai en nanosecondes avant le prochain jeton
+         */
+        public long tryAcquire(String client) {
+            long now = System.nanoTime();
+            AtomicLong bucket = buckets.get(client, key -> new AtomicLong(now));
+            while (true) {
+                long full = bucket.get();
+                // Différences plutôt que comparaisons : nanoTime peut déborder
+                long ahead = full - now;
+                if (ahead > tolerance) {
+                    rejected.increment();
+                    return ahead - tolerance;
+                }
+                long next = (ahead > 0 ? full : now) + interval;
+                if (bucket.compareAndSet(full, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.avolta.repositories;
+
+import com.avolta.models.AdminStatsDaily;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AdminStatsDailyRepository extends JpaRepository<AdminStatsDaily, LocalDate> {
+
+    // Verrou de ligne : les nœuds qui ajoutent leurs compteurs aux mêmes journées se succèdent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AdminStatsDaily s WHERE s.day IN :days")
+    List<AdminStatsDaily> findAllForUpdate(Collection<LocalDate> days);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AdminStatsDaily s ORDER BY s.day DESC")
+    List<AdminStatsDaily> findLatestForUpdate(Limit limit);
+
+    // Journées les plus récentes d'abord : la première porte les totaux courants
+    @Query("SELECT s FROM AdminStatsDaily s ORDER BY s.day DESC")
+    List<AdminStatsDaily> findLatest(Limit limit);
+}
@@ -0,0 +1,24 @@
+package com.avolta.repositories;
+
+import com.avolta.models.CacheInvalidation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<CacheInvalidation> findByIdInOrderByIdAsc(Collection<Long> ids);
+    Optional<CacheInvalidation> findFirstByCreatedAtBeforeOrderByIdDesc(LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.avolta.repositories;
+
+import com.avolta.models.ChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+    // Verrouille la ligne jusqu'au commit de la transaction appelante
+    @Modifying
+    @Query("UPDATE ChangeSequence s SET s.value = s.value + 1 WHERE s.name = :name")
+    int increment(String name);
+
+    @Query("SELECT s.value FROM ChangeSequence s WHERE s.name = :name")
+    Optional<Long> findValue(String name);
+}
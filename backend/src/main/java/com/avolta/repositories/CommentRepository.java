@@ -2,12 +2,49 @@ package com.avolta.repositories;
 
 import com.avolta.models.Comment;
 import com.avolta.models.Publication;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, String> {
+public interface CommentRepository extends JpaRepository<Comment, String>, CommentRepositoryCustom {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByPublicationOrderByCreatedAtDesc(Publication publication);
+
+    // Commentaires récents réduits à leur publication et leur date, sans charger les entités
+    @Query("SELECT c.publication.id AS publicationId, c.createdAt AS createdAt FROM Comment c"
+            + " WHERE c.createdAt >= :since")
+    List<CommentDate> findCommentDatesSince(LocalDateTime since);
+
+    interface CommentDate {
+        String getPublicationId();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    // Texte des commentaires de plusieurs publications, pour l'index de recherche
+    @Query("SELECT c.publication.id AS publicationId, c.content AS content FROM Comment c"
+            + " WHERE c.publication.id IN :publicationIds")
+    List<CommentText> findCommentTextsByPublicationIdIn(Collection<String> publicationIds);
+
+    interface CommentText {
+        String getPublicationId();
+
+        String getContent();
+    }
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c WHERE c.publication.id IN :publicationIds ORDER BY c.createdAt DESC")
+    List<Comment> findWithAuthorByPublicationIdIn(Collection<String> publicationIds);
+
+    // Suppression en masse : évite le chargement puis le DELETE un par un de la cascade
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.publication.id = :publicationId")
+    int deleteByPublicationId(String publicationId);
 }
\ No newline at end of file
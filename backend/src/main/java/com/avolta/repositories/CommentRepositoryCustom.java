@@ -0,0 +1,15 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.CommentDto;
+import com.avolta.fields.FieldSelection;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    /**
+     * Commentaires d'une publication, du plus récent au plus ancien, réduits aux colonnes des champs demandés ;
+     * l'auteur n'est joint que pour {@code author}.
+     */
+    List<CommentDto> findProjectedByPublicationId(FieldSelection fields, String publicationId);
+}
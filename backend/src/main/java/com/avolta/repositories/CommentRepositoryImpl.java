@@ -0,0 +1,34 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.CommentDto;
+import com.avolta.fields.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private static final Projection<CommentDto> PROJECTION = new Projection<>("Comment c", CommentDto::new)
+            .column("id", "c.id", String.class, CommentDto::setId)
+            .column("content", "c.content", String.class, CommentDto::setContent)
+            .column("author", "JOIN c.author a", "a.email", String.class,
+                    (dto, email) -> dto.setAuthor(email.split("@")[0]))
+            .column("createdAt", "c.createdAt", LocalDateTime.class, CommentDto::setCreatedAt);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CommentDto> findProjectedByPublicationId(FieldSelection fields, String publicationId) {
+        Projection.Selection<CommentDto> selection = PROJECTION.select(fields);
+        return entityManager.createQuery(selection.jpql()
+                        + " WHERE c.publication.id = :publicationId ORDER BY c.createdAt DESC", Tuple.class)
+                .setParameter("publicationId", publicationId)
+                .getResultStream()
+                .map(selection::map)
+                .toList();
+    }
+}
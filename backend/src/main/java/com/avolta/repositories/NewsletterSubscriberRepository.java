@@ -1,13 +1,31 @@
 package com.avolta.repositories;
 
 import com.avolta.models.NewsletterSubscriber;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NewsletterSubscriberRepository extends JpaRepository<NewsletterSubscriber, String> {
     Optional<NewsletterSubscriber> findByEmail(String email);
     boolean existsByEmail(String email);
+    long countByConfirmedTrue();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT s FROM NewsletterSubscriber s")
+    Stream<NewsletterSubscriber> streamAll();
+
+    @Modifying
+    @Query("UPDATE NewsletterSubscriber s SET s.lastSentAt = :sentAt WHERE s.confirmed = true")
+    int markConfirmedSubscribersSent(LocalDateTime sentAt);
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.avolta.repositories;
+
+import com.avolta.fields.FieldSelection;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Correspondance entre les champs d'un DTO et les expressions JPQL qui les lisent : le {@code SELECT} ne porte que
+ * les colonnes des champs demandés, et une association n'est jointe que si l'un de ses champs l'est.
+ */
+final class Projection<T> {
+
+    private final String from;
+    private final Supplier<T> factory;
+    private final Map<String, Column<T, ?>> columns = new LinkedHashMap<>();
+
+    Projection(String from, Supplier<T> factory) {
+        this.from = from;
+        this.factory = factory;
+    }
+
+    <V> Projection<T> column(String field, String expression, Class<V> type, BiConsumer<T, V> setter) {
+        return column(field, null, expression, type, setter);
+    }
+
+    /**
+     * @param join jointure nécessaire à l'expression, partagée par les champs qui la déclarent à l'identique
+     */
+    <V> Projection<T> column(String field, String join, String expression, Class<V> type, BiConsumer<T, V> setter) {
+        columns.put(field, new Column<>(join, expression, type, setter));
+        return this;
+    }
+
+    /**
+     * @param required champs toujours lus, par exemple l'identifiant qui sert à rattacher les commentaires
+     */
+    Selection<T> select(FieldSelection fields, String... required) {
+        Set<String> names = new LinkedHashSet<>(List.of(required));
+        columns.keySet().stream().filter(fields::includes).forEach(names::add);
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        Set<String> joins = new LinkedHashSet<>();
+        List<Column<T, ?>> selected = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (String name : names) {
+            Column<T, ?> column = columns.get(name);
+            if (column == null) {
+                continue;
+            }
+            if (column.join != null) {
+                joins.add(column.join);
+            }
+            // Deux champs tirés de la même colonne ne la lisent qu'une fois
+            indexes.add(positions.computeIfAbsent(column.expression, expression -> positions.size()));
+            selected.add(column);
+        }
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", positions.keySet()))
+                .append(" FROM ").append(from);
+        joins.forEach(join -> jpql.append(' ').append(join));
+        return new Selection<>(jpql.toString(), factory, selected, indexes);
+    }
+
+    static final class Selection<T> {
+
+        private final String jpql;
+        private final Supplier<T> factory;
+        private final List<Column<T, ?>> columns;
+        private final List<Integer> indexes;
+
+        private Selection(String jpql, Supplier<T> factory, List<Column<T, ?>> columns, List<Integer> indexes) {
+            this.jpql = jpql;
+            this.factory = factory;
+            this.columns = columns;
+            this.indexes = indexes;
+        }
+
+        /**
+         * {@code SELECT ... FROM ... JOIN ...}, à compléter par les clauses {@code WHERE} et {@code ORDER BY}.
+         */
+        String jpql() {
+            return jpql;
+        }
+
+        T map(Tuple tuple) {
+            T dto = factory.get();
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).apply(dto, tuple, indexes.get(i));
+            }
+            return dto;
+        }
+    }
+
+    private static final class Column<T, V> {
+
+        private final String join;
+        private final String expression;
+        private final Class<V> type;
+        private final BiConsumer<T, V> setter;
+
+        Column(String join, String expression, Class<V> type, BiConsumer<T, V> setter) {
+            this.join = join;
+            this.expression = expression;
+            this.type = type;
+            this.setter = setter;
+        }
+
+        void apply(T dto, Tuple tuple, int index) {
+            V value = tuple.get(index, type);
+            if (value != null) {
+                setter.accept(dto, value);
+            }
+        }
+    }
+}
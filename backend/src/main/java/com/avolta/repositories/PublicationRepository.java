@@ -2,21 +2,141 @@ package com.avolta.repositories;
 
 import com.avolta.models.Publication;
 import com.avolta.models.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PublicationRepository extends JpaRepository<Publication, String> {
+public interface PublicationRepository extends JpaRepository<Publication, String>, PublicationRepositoryCustom {
+    // Tout ce que PublicationDto.fromEntity parcourt, chargé en une requête (sinon N+1 sur auteurs et commentaires)
+    String DETAILS_GRAPH = "Publication.details";
+
     List<Publication> findByAuthor(User author);
-    List<Publication> findByStatus(Publication.Status status);
+
+    @EntityGraph(DETAILS_GRAPH)
+    @Query("SELECT p FROM Publication p WHERE p.id = :id")
+    Optional<Publication> findWithDetailsById(String id);
     
+    @EntityGraph(DETAILS_GRAPH)
+    @Query("SELECT p FROM Publication p WHERE p.id IN :ids")
+    List<Publication> findWithDetailsByIdIn(Collection<String> ids);
+
+    // Commentaires lus à part (findWithAuthorByPublicationIdIn) : pas de produit cartésien sur un lot
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT p FROM Publication p WHERE p.id IN :ids")
+    List<Publication> findWithAuthorByIdIn(Collection<String> ids);
+
+    @EntityGraph(DETAILS_GRAPH)
     @Query("SELECT p FROM Publication p WHERE p.status = 'PUBLISHED' AND p.validFrom <= :now AND p.validTo >= :now")
     List<Publication> findActivePublications(LocalDateTime now);
+
+    // Publiées et non expirées, programmées comprises : candidates au classement des tendances
+    @Query("SELECT p FROM Publication p WHERE p.status = 'PUBLISHED' AND p.validTo >= :now")
+    List<Publication> findPublishedNotExpired(LocalDateTime now);
     
+    @EntityGraph(DETAILS_GRAPH)
     @Query("SELECT p FROM Publication p WHERE p.status = 'PUBLISHED' AND p.validFrom <= :now AND p.validTo >= :now AND p.category = :category")
     List<Publication> findActivePublicationsByCategory(LocalDateTime now, String category);
+
+    // Modifiées, devenues actives ou expirées dans l'intervalle ; le service trie entre ajouts et retraits
+    @EntityGraph(DETAILS_GRAPH)
+    // Versions dans ]afterVersion, upToVersion], ou entrée / sortie de la période de validité dans ]since, now]
+    @Query("SELECT p FROM Publication p WHERE (p.version > :afterVersion AND p.version <= :upToVersion)"
+            + " OR (p.validFrom > :since AND p.validFrom <= :now)"
+            + " OR (p.validTo >= :since AND p.validTo < :now)")
+    List<Publication> findChangedBetween(long afterVersion, long upToVersion, LocalDateTime since,
+                                         LocalDateTime now);
+
+    String STATE_SELECT = "SELECT p.id AS id, p.status AS status, p.category AS category, p.validFrom AS validFrom,"
+            + " p.validTo AS validTo, p.version AS version FROM Publication p";
+
+    @Query(STATE_SELECT)
+    List<PublicationState> findAllStates();
+
+    @Query(STATE_SELECT + " WHERE p.id IN :ids")
+    List<PublicationState> findStatesByIdIn(Collection<String> ids);
+
+    @Query(STATE_SELECT + " WHERE p.status = 'PUBLISHED' AND p.validFrom <= :now AND p.validTo >= :now")
+    List<PublicationState> findActiveStates(LocalDateTime now);
+
+    // Même critère que findChangedBetween, sans charger les entités
+    @Query(STATE_SELECT + " WHERE (p.version > :afterVersion AND p.version <= :upToVersion)"
+            + " OR (p.validFrom > :since AND p.validFrom <= :now)"
+            + " OR (p.validTo >= :since AND p.validTo < :now)")
+    List<PublicationState> findStatesChangedBetween(long afterVersion, long upToVersion, LocalDateTime since,
+                                                    LocalDateTime now);
+
+    // Rattrapage de l'index de recherche : par date de modification
+    @Query(STATE_SELECT + " WHERE p.updatedAt > :since"
+            + " OR (p.validFrom > :since AND p.validFrom <= :now)"
+            + " OR (p.validTo >= :since AND p.validTo < :now)")
+    List<PublicationState> findStatesUpdatedBetween(LocalDateTime since, LocalDateTime now);
+
+    @Query("SELECT p.id FROM Publication p")
+    List<String> findAllIds();
+
+    @Query("SELECT p.likes FROM Publication p WHERE p.id = :id")
+    Optional<Integer> findLikesById(String id);
+
+    // Incrément en SQL : ni version ni updatedAt, un like n'est pas une modification du contenu
+    @Modifying
+    @Query("UPDATE Publication p SET p.likes = p.likes + 1 WHERE p.id = :id")
+    int incrementLikes(String id);
+
+    @Query("SELECT COALESCE(MAX(p.version), 0) FROM Publication p")
+    long findMaxVersion();
+
+    @Query("SELECT COALESCE(SUM(p.likes), 0) FROM Publication p")
+    long sumLikes();
+
+    // Comptages agrégés en base, pour vérifier les facettes tenues en mémoire
+    @Query("SELECT p.category AS category, p.status AS status, YEAR(p.validFrom) AS year,"
+            + " MONTH(p.validFrom) AS month, COUNT(p) AS count FROM Publication p"
+            + " GROUP BY p.category, p.status, YEAR(p.validFrom), MONTH(p.validFrom)")
+    List<FacetGroup> countFacetGroups();
+
+    interface FacetGroup {
+        String getCategory();
+
+        Publication.Status getStatus();
+
+        int getYear();
+
+        int getMonth();
+
+        long getCount();
+    }
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT p.imageUrl FROM Publication p WHERE p.imageUrl IS NOT NULL")
+    Stream<String> streamImageUrls();
+
+    // Curseur en avant seulement, auteur joint ; les commentaires sont chargés par lots (PublicationService)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            // Un parcours complet ne doit pas évincer le cache de second niveau
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT p FROM Publication p JOIN FETCH p.author")
+    Stream<Publication> streamAllWithAuthor();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            // Un parcours complet ne doit pas évincer le cache de second niveau
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT p FROM Publication p JOIN FETCH p.author WHERE p.status = :status")
+    Stream<Publication> streamByStatusWithAuthor(Publication.Status status);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.PublicationDto;
+import com.avolta.fields.FieldSelection;
+import com.avolta.models.Publication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PublicationRepositoryCustom {
+
+    /**
+     * Publications actives, réduites aux colonnes des champs demandés ; l'auteur n'est joint que pour
+     * {@code authorName} ou {@code authorEmail}. Les commentaires ne sont pas lus.
+     *
+     * @param category catégorie, ou {@code null} pour toutes
+     */
+    List<PublicationDto> findActiveProjected(FieldSelection fields, LocalDateTime now, String category);
+
+    /**
+     * Parcours en flux, réduit aux colonnes des champs demandés ; à consommer dans une transaction.
+     *
+     * @param status statut, ou {@code null} pour toutes les publications
+     */
+    Stream<PublicationDto> streamProjected(FieldSelection fields, Publication.Status status);
+}
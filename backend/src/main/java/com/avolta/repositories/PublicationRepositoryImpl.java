@@ -0,0 +1,65 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.PublicationDto;
+import com.avolta.fields.FieldSelection;
+import com.avolta.models.Publication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class PublicationRepositoryImpl implements PublicationRepositoryCustom {
+
+    private static final String AUTHOR = "JOIN p.author a";
+    private static final Projection<PublicationDto> PROJECTION =
+            new Projection<>("Publication p", PublicationDto::new)
+                    .column("id", "p.id", String.class, PublicationDto::setId)
+                    .column("title", "p.title", String.class, PublicationDto::setTitle)
+                    .column("content", "p.content", String.class, PublicationDto::setContent)
+                    .column("imageUrl", "p.imageUrl", String.class, PublicationDto::setImageUrl)
+                    .column("validFrom", "p.validFrom", LocalDateTime.class, PublicationDto::setValidFrom)
+                    .column("validTo", "p.validTo", LocalDateTime.class, PublicationDto::setValidTo)
+                    .column("createdAt", "p.createdAt", LocalDateTime.class, PublicationDto::setCreatedAt)
+                    .column("likes", "p.likes", Integer.class, PublicationDto::setLikes)
+                    .column("category", "p.category", String.class, PublicationDto::setCategory)
+                    .column("status", "p.status", Publication.Status.class, PublicationDto::setStatus)
+                    .column("version", "p.version", Long.class, PublicationDto::setVersion)
+                    // Clé étrangère de la publication : pas de jointure
+                    .column("authorId", "p.author.id", String.class, PublicationDto::setAuthorId)
+                    .column("authorName", AUTHOR, "a.email", String.class,
+                            (dto, email) -> dto.setAuthorName(email.split("@")[0]))
+                    .column("authorEmail", AUTHOR, "a.email", String.class, PublicationDto::setAuthorEmail);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PublicationDto> findActiveProjected(FieldSelection fields, LocalDateTime now, String category) {
+        Projection.Selection<PublicationDto> selection = PROJECTION.select(fields, "id");
+        TypedQuery<Tuple> query = entityManager.createQuery(selection.jpql()
+                + " WHERE p.status = 'PUBLISHED' AND p.validFrom <= :now AND p.validTo >= :now"
+                + (category != null ? " AND p.category = :category" : ""), Tuple.class)
+                .setParameter("now", now);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        return query.getResultList().stream().map(selection::map).toList();
+    }
+
+    @Override
+    public Stream<PublicationDto> streamProjected(FieldSelection fields, Publication.Status status) {
+        Projection.Selection<PublicationDto> selection = PROJECTION.select(fields, "id");
+        TypedQuery<Tuple> query = entityManager.createQuery(selection.jpql()
+                + (status != null ? " WHERE p.status = :status" : ""), Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultStream().map(selection::map);
+    }
+}
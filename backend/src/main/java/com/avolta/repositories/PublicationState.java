@@ -0,0 +1,29 @@
+package com.avolta.repositories;
+
+import com.avolta.models.Publication;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colonnes suffisant à savoir si une publication est visible et si elle a changé, sans charger l'entité.
+ */
+public interface PublicationState {
+
+    String getId();
+
+    Publication.Status getStatus();
+
+    String getCategory();
+
+    LocalDateTime getValidFrom();
+
+    LocalDateTime getValidTo();
+
+    long getVersion();
+
+    default boolean isActiveAt(LocalDateTime now) {
+        return getStatus() == Publication.Status.PUBLISHED
+                && !getValidFrom().isAfter(now)
+                && !getValidTo().isBefore(now);
+    }
+}
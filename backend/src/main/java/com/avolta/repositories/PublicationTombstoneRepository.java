@@ -0,0 +1,27 @@
+package com.avolta.repositories;
+
+import com.avolta.models.PublicationTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PublicationTombstoneRepository extends JpaRepository<PublicationTombstone, String> {
+    @Query("SELECT t.publicationId FROM PublicationTombstone t WHERE t.deletedAt > :since")
+    List<String> findPublicationIdsDeletedAfter(LocalDateTime since);
+
+    @Query("SELECT t.publicationId FROM PublicationTombstone t"
+            + " WHERE t.version > :afterVersion AND t.version <= :upToVersion")
+    List<String> findPublicationIdsDeletedBetween(long afterVersion, long upToVersion);
+
+    @Query("SELECT COALESCE(MAX(t.version), 0) FROM PublicationTombstone t")
+    long findMaxVersion();
+
+    @Modifying
+    @Query("DELETE FROM PublicationTombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(LocalDateTime before);
+}
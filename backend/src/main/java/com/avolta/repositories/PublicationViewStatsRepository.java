@@ -0,0 +1,44 @@
+package com.avolta.repositories;
+
+import com.avolta.models.PublicationViewStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PublicationViewStatsRepository extends JpaRepository<PublicationViewStats, String> {
+
+    // Verrou de ligne : deux nœuds qui fusionnent leurs compteurs sur la même publication se succèdent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PublicationViewStats s WHERE s.publicationId IN :ids")
+    List<PublicationViewStats> findAllForUpdate(Collection<String> ids);
+
+    // Jointure interne : les lignes des publications supprimées n'apparaissent pas
+    @Query("SELECT s.publicationId AS publicationId, p.title AS title, s.views AS views, "
+            + "s.visitorsSketch AS visitorsSketch, s.updatedAt AS updatedAt "
+            + "FROM PublicationViewStats s JOIN Publication p ON p.id = s.publicationId ORDER BY s.views DESC")
+    List<ViewStatsRow> findMostViewed(Limit limit);
+
+    @Query("SELECT COALESCE(SUM(s.views), 0) FROM PublicationViewStats s JOIN Publication p ON p.id = s.publicationId")
+    long sumViews();
+
+    @Modifying
+    @Query("DELETE FROM PublicationViewStats s WHERE s.publicationId = :publicationId")
+    int deleteByPublicationId(String publicationId);
+
+    interface ViewStatsRow {
+        String getPublicationId();
+        String getTitle();
+        long getViews();
+        byte[] getVisitorsSketch();
+        LocalDateTime getUpdatedAt();
+    }
+}
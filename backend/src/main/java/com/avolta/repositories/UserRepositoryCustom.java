@@ -0,0 +1,21 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.UserDto;
+import com.avolta.fields.FieldSelection;
+import com.avolta.models.User;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Recherche par identifiant naturel : servie par le cache de second niveau quand l'utilisateur y est.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Parcours en flux, réduit aux colonnes des champs demandés ; à consommer dans une transaction.
+     */
+    Stream<UserDto> streamProjected(FieldSelection fields);
+}
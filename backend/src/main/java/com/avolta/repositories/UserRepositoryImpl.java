@@ -0,0 +1,46 @@
+package com.avolta.repositories;
+
+import com.avolta.dto.UserDto;
+import com.avolta.fields.FieldSelection;
+import com.avolta.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final Projection<UserDto> PROJECTION = new Projection<>("User u", UserDto::new)
+            .column("id", "u.id", String.class, UserDto::setId)
+            .column("email", "u.email", String.class, UserDto::setEmail)
+            .column("role", "u.role", User.Role.class, UserDto::setRole)
+            .column("createdAt", "u.createdAt", LocalDateTime.class, UserDto::setCreatedAt)
+            .column("lastLogin", "u.lastLogin", LocalDateTime.class, UserDto::setLastLogin)
+            .column("status", "u.status", User.Status.class, UserDto::setStatus);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    public Stream<UserDto> streamProjected(FieldSelection fields) {
+        Projection.Selection<UserDto> selection = PROJECTION.select(fields);
+        return entityManager.createQuery(selection.jpql(), Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream()
+                .map(selection::map);
+    }
+}
@@ -0,0 +1,22 @@
+package com.avolta.search;
+
+import com.avolta.models.Publication;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contenu indexé d'une publication : textes cherchables et critères de filtrage.
+ */
+@Value
+public class IndexedPublication {
+    String id;
+    String title;
+    String content;
+    List<String> comments;
+    String category;
+    Publication.Status status;
+    LocalDateTime validFrom;
+    LocalDateTime validTo;
+}
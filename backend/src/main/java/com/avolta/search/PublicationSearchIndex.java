@@ -0,0 +1,268 @@
+package com.avolta.search;
+
+import com.avolta.models.Publication;
+import lombok.Value;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.nl.DutchAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index plein texte Lucene des publications, sur disque dans {@code app.search.index-dir}.
+ * <p>
+ * Titre, contenu et commentaires sont indexés quatre fois : analyseurs français, néerlandais et anglais
+ * (élision, mots vides, racinisation) et une variante sans accents pour les saisies approximatives. Une requête
+ * interroge toutes les variantes et les résultats sont classés par BM25, le titre pesant plus que le contenu.
+ * Les écritures sont visibles des recherches après {@link #refresh()} et durables après {@link #commit}, qui
+ * enregistre aussi la date jusqu'à laquelle l'index est à jour.
+ */
+public class PublicationSearchIndex implements Closeable {
+
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String CATEGORY = "category";
+    private static final String VALID_FROM = "valid_from";
+    private static final String VALID_TO = "valid_to";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String COMMENTS = "comments";
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 3f, CONTENT, 1f, COMMENTS, 0.5f);
+    private static final List<String> VARIANTS = List.of("fr", "nl", "en", "folded");
+    private static final String INDEXED_UP_TO = "indexedUpTo";
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Map<String, Float> weights = new HashMap<>();
+
+    /**
+     * Index sur disque dans {@code path}, ou en mémoire si {@code path} est null (reconstruit à chaque démarrage).
+     */
+    public PublicationSearchIndex(Path path) throws IOException {
+        if (path == null) {
+            this.directory = new ByteBuffersDirectory();
+        } else {
+            Files.createDirectories(path);
+            this.directory = FSDirectory.open(path);
+        }
+        Map<String, Analyzer> variantAnalyzers = Map.of("fr", new FrenchAnalyzer(), "nl", new DutchAnalyzer(),
+                "en", new EnglishAnalyzer(), "folded", new FoldingAnalyzer());
+        Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+        FIELD_WEIGHTS.forEach((field, weight) -> VARIANTS.forEach(variant -> {
+            fieldAnalyzers.put(field + "_" + variant, variantAnalyzers.get(variant));
+            weights.put(field + "_" + variant, weight);
+        }));
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), fieldAnalyzers);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Date enregistrée par le dernier {@link #commit}, null pour un index neuf.
+     */
+    public LocalDateTime getIndexedUpTo() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (INDEXED_UP_TO.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public void update(IndexedPublication publication) {
+        try {
+            writer.updateDocument(new Term(ID, publication.getId()), toDocument(publication));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(String id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rend les écritures visibles des recherches suivantes.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Écrit les segments sur disque avec la date jusqu'à laquelle l'index est à jour.
+     */
+    public void commit(LocalDateTime indexedUpTo) {
+        try {
+            writer.setLiveCommitData(Map.of(INDEXED_UP_TO, indexedUpTo.toString()).entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Les {@code limit} publications actives à {@code now} les plus pertinentes, dans la catégorie si elle
+     * est donnée. Syntaxe de {@link SimpleQueryParser} : {@code "expression exacte"}, {@code -exclu},
+     * {@code préfixe*} ; tous les termes sont requis.
+     */
+    public List<Hit> search(String text, String category, int limit, LocalDateTime now) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, weights);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query matching = parser.parse(text);
+        if (matching == null) {
+            // Uniquement des mots vides ou de la ponctuation
+            return List.of();
+        }
+        long nowMillis = toMillis(now);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(matching, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(STATUS, Publication.Status.PUBLISHED.name())), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(VALID_FROM, Long.MIN_VALUE, nowMillis), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(VALID_TO, nowMillis, Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        if (category != null) {
+            query.add(new TermQuery(new Term(CATEGORY, category)), BooleanClause.Occur.FILTER);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    hits.add(new Hit(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Document toDocument(IndexedPublication publication) {
+        Document document = new Document();
+        document.add(new StringField(ID, publication.getId(), Field.Store.YES));
+        document.add(new StringField(STATUS, publication.getStatus().name(), Field.Store.NO));
+        if (publication.getCategory() != null) {
+            document.add(new StringField(CATEGORY, publication.getCategory(), Field.Store.NO));
+        }
+        document.add(new LongPoint(VALID_FROM, toMillis(publication.getValidFrom())));
+        document.add(new LongPoint(VALID_TO, toMillis(publication.getValidTo())));
+        for (String variant : VARIANTS) {
+            addText(document, TITLE + "_" + variant, publication.getTitle());
+            addText(document, CONTENT + "_" + variant, publication.getContent());
+            for (String comment : publication.getComments()) {
+                addText(document, COMMENTS + "_" + variant, comment);
+            }
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String text) {
+        if (text != null) {
+            document.add(new TextField(field, text, Field.Store.NO));
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Value
+    public static class Hit {
+        String id;
+        float score;
+    }
+
+    /**
+     * Minuscules sans accents ni racinisation : « ete » trouve « d'été », et les noms propres restent intacts.
+     */
+    private static class FoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ElisionFilter(tokenizer, FrenchAnalyzer.DEFAULT_ARTICLES);
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(stream)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
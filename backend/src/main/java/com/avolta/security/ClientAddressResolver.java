@@ -0,0 +1,69 @@
+package com.avolta.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Adresse du client d'une requête, pour la limitation de débit et le comptage des visiteurs.
+ * <p>
+ * {@code X-Forwarded-For} n'est lu que si la connexion vient d'un proxy de confiance ({@code app.trusted-proxies},
+ * adresses ou plages CIDR) : l'en-tête est alors parcouru depuis la fin, chaque proxy de confiance cédant la place
+ * à l'adresse qu'il a ajoutée. Un client joignant le backend en direct ne peut donc pas choisir son adresse.
+ */
+@Component
+public class ClientAddressResolver {
+
+    // Adresses littérales seulement : un nom d'hôte déclencherait une résolution DNS
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f.:]+");
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientAddressResolver(@Value("${app.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!isTrusted(address)) {
+            return address;
+        }
+        String header = request.getHeader("X-Forwarded-For");
+        if (header == null) {
+            return address;
+        }
+        String[] hops = header.split(",");
+        for (int i = hops.length - 1; i >= 0 && isTrusted(address); i--) {
+            String hop = hops[i].trim();
+            if (!IP_LITERAL.matcher(hop).matches()) {
+                break;
+            }
+            address = hop;
+        }
+        return address;
+    }
+
+    private boolean isTrusted(String address) {
+        if (address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher proxy : trustedProxies) {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Adresse mal formée : jamais de confiance
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.avolta.security;
 
+import com.avolta.monitoring.RequestStatistics;
+import com.avolta.monitoring.jfr.JwtAuthorizationEvent;
 import com.avolta.services.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,8 +30,11 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        JwtAuthorizationEvent event = new JwtAuthorizationEvent();
+        event.begin();
         try {
             String jwt = getJwtFromRequest(request);
+            event.tokenPresent = jwt != null;
 
             if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
                 String username = jwtTokenProvider.getUsernameFromToken(jwt);
@@ -40,11 +45,19 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    event.authenticated = true;
                 }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = request.getMethod() + " " + request.getRequestURI();
+            RequestStatistics statistics = RequestStatistics.current();
+            event.statements = statistics != null ? statistics.getStatements() : 0;
+            event.commit();
+        }
 
         filterChain.doFilter(request, response);
     }
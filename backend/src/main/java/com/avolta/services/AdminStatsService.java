@@ -0,0 +1,301 @@
+package com.avolta.services;
+
+import com.avolta.dto.AdminStatsDto;
+import com.avolta.dto.PublicationFacetsDto;
+import com.avolta.events.CommentAdded;
+import com.avolta.events.CommentDeleted;
+import com.avolta.events.DomainEvent;
+import com.avolta.events.DomainEventConsumer;
+import com.avolta.events.PublicationCreated;
+import com.avolta.events.PublicationDeleted;
+import com.avolta.events.PublicationLiked;
+import com.avolta.events.SubscriberChanged;
+import com.avolta.models.AdminStatsDaily;
+import com.avolta.models.Publication;
+import com.avolta.repositories.AdminStatsDailyRepository;
+import com.avolta.repositories.CommentRepository;
+import com.avolta.repositories.NewsletterSubscriberRepository;
+import com.avolta.repositories.PublicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques du tableau de bord d'administration ({@code GET /api/admin/stats}), lues en une requête
+ * quelle que soit la taille des tables.
+ * <p>
+ * Les écritures ne touchent pas la table de cumul : les événements métier ajoutent leurs écarts à des compteurs
+ * en mémoire, par journée. Toutes les {@code flush-interval}, chaque nœud ajoute ses écarts aux lignes de
+ * {@code admin_stats_daily} sous verrou de ligne, ce qui permet à plusieurs nœuds d'écrire sur la même journée ;
+ * un flush en échec est repris au suivant. Les totaux sont recalculés en base au premier flush puis toutes les
+ * {@code reconcile-interval}, pour rattraper les événements perdus (tampon plein, arrêt brutal). Les
+ * publications par statut viennent des facettes, déjà tenues en mémoire.
+ */
+@Slf4j
+@Service
+public class AdminStatsService implements DomainEventConsumer {
+
+    // Indices des écarts d'une journée
+    private static final int PUBLICATIONS_CREATED = 0;
+    private static final int COMMENTS_ADDED = 1;
+    private static final int COMMENTS_DELETED = 2;
+    private static final int LIKES = 3;
+    private static final int SUBSCRIBERS_ADDED = 4;
+    private static final int SUBSCRIBERS_REMOVED = 5;
+    private static final int CONFIRMED_SUBSCRIBERS = 6;
+    // Supprimés avec leur publication : totaux seulement
+    private static final int LIKES_REMOVED = 7;
+    private static final int COMMENTS_REMOVED = 8;
+    private static final int DELTA_COUNT = 9;
+
+    private final AdminStatsDailyRepository statsRepository;
+    private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
+    private final NewsletterSubscriberRepository subscriberRepository;
+    private final PublicationFacetService publicationFacetService;
+    private final TransactionTemplate transactionTemplate;
+    // Écarts pas encore écrits, par journée ; modifiés par compute() seulement, retirés entiers par le flush
+    private final ConcurrentHashMap<LocalDate, long[]> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter drifts;
+    // Protégé par flushLock
+    private boolean initialized;
+
+    @Value("${app.admin-stats.max-days:90}")
+    private int maxDays;
+
+    public AdminStatsService(AdminStatsDailyRepository statsRepository, PublicationRepository publicationRepository,
+                             CommentRepository commentRepository,
+                             NewsletterSubscriberRepository subscriberRepository,
+                             PublicationFacetService publicationFacetService,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        this.subscriberRepository = subscriberRepository;
+        this.publicationFacetService = publicationFacetService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drifts = Counter.builder("admin.stats.drifts")
+                .description("Recalculs des totaux en écart avec les compteurs")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public AdminStatsDto getStats(int days) {
+        int window = Math.max(1, Math.min(days, maxDays));
+        // Au plus une ligne par journée : les window dernières couvrent la période
+        List<AdminStatsDaily> rows = statsRepository.findLatest(Limit.of(window));
+        AdminStatsDaily latest = rows.isEmpty() ? null : rows.get(0);
+        Map<LocalDate, AdminStatsDaily> byDay = rows.stream()
+                .collect(Collectors.toMap(AdminStatsDaily::getDay, Function.identity()));
+        List<AdminStatsDto.DailyStats> series = new ArrayList<>(window);
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(window - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            series.add(toDailyStats(day, byDay.get(day)));
+        }
+
+        PublicationFacetsDto facets = publicationFacetService.getFacets();
+        Map<String, Long> statuses = facets.getAll().getStatuses();
+        long subscribers = latest == null ? 0 : latest.getTotalSubscribers();
+        long confirmed = latest == null ? 0 : latest.getTotalConfirmedSubscribers();
+        return new AdminStatsDto(facets.getAll().getTotal(), statuses,
+                statuses.getOrDefault(Publication.Status.PENDING.name(), 0L), facets.getActive().getTotal(),
+                latest == null ? 0 : latest.getTotalLikes(), latest == null ? 0 : latest.getTotalComments(),
+                subscribers, confirmed, subscribers == 0 ? 0 : (double) confirmed / subscribers, series,
+                latest == null ? null : latest.getUpdatedAt());
+    }
+
+    @Override
+    public String name() {
+        return "admin-stats";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof PublicationCreated) {
+            add(PUBLICATIONS_CREATED, 1);
+        } else if (event instanceof PublicationLiked) {
+            add(LIKES, 1);
+        } else if (event instanceof PublicationDeleted deleted) {
+            add(LIKES_REMOVED, deleted.getLikes());
+            add(COMMENTS_REMOVED, deleted.getComments());
+        } else if (event instanceof CommentAdded) {
+            add(COMMENTS_ADDED, 1);
+        } else if (event instanceof CommentDeleted) {
+            add(COMMENTS_DELETED, 1);
+        } else if (event instanceof SubscriberChanged changed) {
+            switch (changed.getChange()) {
+                case SUBSCRIBED -> add(SUBSCRIBERS_ADDED, 1);
+                case UNSUBSCRIBED, DELETED -> add(SUBSCRIBERS_REMOVED, 1);
+                default -> {
+                }
+            }
+            if (changed.isConfirmed() != changed.isWasConfirmed()) {
+                add(CONFIRMED_SUBSCRIBERS, changed.isConfirmed() ? 1 : -1);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin-stats.flush-interval:PT1M}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            write(false);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Écrit les écarts en attente puis remplace les totaux par un comptage exact. Les écarts que d'autres nœuds
+     * n'ont pas encore écrits seront comptés deux fois jusqu'au recalcul suivant.
+     */
+    @Scheduled(fixedDelayString = "${app.admin-stats.reconcile-interval:PT1H}",
+            initialDelayString = "${app.admin-stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            write(true);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(int index, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        pending.compute(LocalDate.now(), (day, deltas) -> {
+            long[] updated = deltas == null ? new long[DELTA_COUNT] : deltas;
+            updated[index] += delta;
+            return updated;
+        });
+    }
+
+    private void write(boolean exactTotals) {
+        Map<LocalDate, long[]> taken = new TreeMap<>();
+        for (LocalDate day : pending.keySet()) {
+            long[] deltas = pending.remove(day);
+            if (deltas != null) {
+                taken.put(day, deltas);
+            }
+        }
+        if (taken.isEmpty() && initialized && !exactTotals) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(taken, exactTotals));
+            initialized = true;
+        } catch (DataAccessException | TransactionException e) {
+            // Écarts conservés en mémoire : le prochain flush les ajoute
+            taken.forEach((day, deltas) -> pending.merge(day, deltas, AdminStatsService::sum));
+            log.warn("Failed to write admin statistics for {} day(s): {}", taken.size(), e.getMessage());
+        }
+    }
+
+    private void apply(Map<LocalDate, long[]> taken, boolean exactTotals) {
+        LocalDate today = LocalDate.now();
+        // Verrou sur la dernière journée d'abord : deux nœuds qui créent la journée du jour se succèdent
+        List<AdminStatsDaily> latestRows = statsRepository.findLatestForUpdate(Limit.of(1));
+        AdminStatsDaily latest = latestRows.isEmpty() ? null : latestRows.get(0);
+        Set<LocalDate> days = new HashSet<>(taken.keySet());
+        days.add(today);
+        Map<LocalDate, AdminStatsDaily> rows = new HashMap<>();
+        for (AdminStatsDaily row : statsRepository.findAllForUpdate(days)) {
+            rows.put(row.getDay(), row);
+        }
+        AdminStatsDaily current = rows.computeIfAbsent(today, day -> new AdminStatsDaily(day, latest));
+
+        long[] totals = new long[DELTA_COUNT];
+        for (Map.Entry<LocalDate, long[]> entry : taken.entrySet()) {
+            long[] deltas = entry.getValue();
+            AdminStatsDaily row = rows.computeIfAbsent(entry.getKey(), day -> new AdminStatsDaily(day, latest));
+            row.setPublicationsCreated(row.getPublicationsCreated() + deltas[PUBLICATIONS_CREATED]);
+            row.setCommentsAdded(row.getCommentsAdded() + deltas[COMMENTS_ADDED]);
+            row.setCommentsDeleted(row.getCommentsDeleted() + deltas[COMMENTS_DELETED]);
+            row.setLikes(row.getLikes() + deltas[LIKES]);
+            row.setSubscribersAdded(row.getSubscribersAdded() + deltas[SUBSCRIBERS_ADDED]);
+            row.setSubscribersRemoved(row.getSubscribersRemoved() + deltas[SUBSCRIBERS_REMOVED]);
+            totals = sum(totals, deltas);
+        }
+
+        if (latest == null || exactTotals) {
+            // Comptage exact : il inclut déjà les écarts écrits ci-dessus
+            long subscribers = subscriberRepository.count();
+            long confirmed = subscriberRepository.countByConfirmedTrue();
+            long likes = publicationRepository.sumLikes();
+            long comments = commentRepository.count();
+            if (latest != null && (current.getTotalSubscribers() + totals[SUBSCRIBERS_ADDED]
+                    - totals[SUBSCRIBERS_REMOVED] != subscribers
+                    || current.getTotalConfirmedSubscribers() + totals[CONFIRMED_SUBSCRIBERS] != confirmed
+                    || current.getTotalLikes() + totals[LIKES] - totals[LIKES_REMOVED] != likes
+                    || current.getTotalComments() + totals[COMMENTS_ADDED] - totals[COMMENTS_DELETED]
+                    - totals[COMMENTS_REMOVED] != comments)) {
+                drifts.increment();
+                log.info("Admin statistics totals corrected from the database");
+            }
+            current.setTotalSubscribers(subscribers);
+            current.setTotalConfirmedSubscribers(confirmed);
+            current.setTotalLikes(likes);
+            current.setTotalComments(comments);
+        } else {
+            current.setTotalSubscribers(current.getTotalSubscribers() + totals[SUBSCRIBERS_ADDED]
+                    - totals[SUBSCRIBERS_REMOVED]);
+            current.setTotalConfirmedSubscribers(current.getTotalConfirmedSubscribers()
+                    + totals[CONFIRMED_SUBSCRIBERS]);
+            current.setTotalLikes(current.getTotalLikes() + totals[LIKES] - totals[LIKES_REMOVED]);
+            current.setTotalComments(current.getTotalComments() + totals[COMMENTS_ADDED]
+                    - totals[COMMENTS_DELETED] - totals[COMMENTS_REMOVED]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        rows.values().forEach(row -> row.setUpdatedAt(now));
+        statsRepository.saveAll(rows.values());
+    }
+
+    private static AdminStatsDto.DailyStats toDailyStats(LocalDate day, AdminStatsDaily row) {
+        if (row == null) {
+            return new AdminStatsDto.DailyStats(day, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new AdminStatsDto.DailyStats(day, row.getPublicationsCreated(), row.getCommentsAdded(),
+                row.getCommentsDeleted(), row.getLikes(), row.getSubscribersAdded(), row.getSubscribersRemoved(),
+                row.getSubscribersAdded() - row.getSubscribersRemoved());
+    }
+
+    private static long[] sum(long[] left, long[] right) {
+        long[] result = new long[DELTA_COUNT];
+        for (int i = 0; i < DELTA_COUNT; i++) {
+            result[i] = left[i] + right[i];
+        }
+        return result;
+    }
+}
@@ -1,8 +1,14 @@
 package com.avolta.services;
 
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationBus;
 import com.avolta.dto.CommentDto;
 import com.avolta.dto.requests.CreateCommentRequest;
+import com.avolta.events.CommentAdded;
+import com.avolta.events.CommentDeleted;
+import com.avolta.events.DomainEventBus;
 import com.avolta.exceptions.ResourceNotFoundException;
+import com.avolta.fields.FieldSelection;
 import com.avolta.models.Comment;
 import com.avolta.models.Publication;
 import com.avolta.models.User;
@@ -23,12 +29,18 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PublicationRepository publicationRepository;
     private final UserRepository userRepository;
+    private final PublicationVersionService publicationVersionService;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus domainEventBus;
 
     @Transactional(readOnly = true)
-    public List<CommentDto> getCommentsByPublicationId(String publicationId) {
+    public List<CommentDto> getCommentsByPublicationId(String publicationId, FieldSelection fields) {
         Publication publication = publicationRepository.findById(publicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + publicationId));
-        
+        if (!fields.isAll()) {
+            return commentRepository.findProjectedByPublicationId(fields, publicationId);
+        }
+
         return commentRepository.findByPublicationOrderByCreatedAtDesc(publication).stream()
                 .map(CommentDto::fromEntity)
                 .collect(Collectors.toList());
@@ -38,7 +50,9 @@ public class CommentService {
     public CommentDto createComment(String publicationId, CreateCommentRequest request, String authorEmail) {
         Publication publication = publicationRepository.findById(publicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + publicationId));
-        
+        // Les commentaires font partie du détail : nouvelle version de la publication
+        publication.markChanged(publicationVersionService.next());
+
         User author = userRepository.findByEmail(authorEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + authorEmail));
         
@@ -48,14 +62,18 @@ public class CommentService {
         comment.setAuthor(author);
         
         Comment savedComment = commentRepository.save(comment);
+        invalidationBus.publish(CachedEntity.PUBLICATION, publicationId);
+        domainEventBus.publish(new CommentAdded(publicationId, savedComment.getId(), author.getId()));
         return CommentDto.fromEntity(savedComment);
     }
 
     @Transactional
     public void deleteComment(String id) {
-        if (!commentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Comment not found with id: " + id);
-        }
-        commentRepository.deleteById(id);
+        Comment comment = commentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+        comment.getPublication().markChanged(publicationVersionService.next());
+        commentRepository.delete(comment);
+        invalidationBus.publish(CachedEntity.PUBLICATION, comment.getPublication().getId());
+        domainEventBus.publish(new CommentDeleted(comment.getPublication().getId(), id));
     }
 }
\ No newline at end of file
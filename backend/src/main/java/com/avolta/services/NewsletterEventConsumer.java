@@ -0,0 +1,31 @@
+package com.avolta.services;
+
+import com.avolta.events.DomainEvent;
+import com.avolta.events.DomainEventConsumer;
+import com.avolta.events.PublicationCreated;
+import com.avolta.models.Publication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envoie la newsletter d'une publication créée directement au statut PUBLISHED, hors de la requête de création.
+ */
+@Component
+@RequiredArgsConstructor
+public class NewsletterEventConsumer implements DomainEventConsumer {
+
+    private final NewsletterService newsletterService;
+
+    @Override
+    public String name() {
+        return "newsletter";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof PublicationCreated created && created.isSendNewsletter()
+                && created.getPublication().getStatus() == Publication.Status.PUBLISHED) {
+            newsletterService.sendNewsletter(created.getPublication());
+        }
+    }
+}
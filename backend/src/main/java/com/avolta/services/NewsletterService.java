@@ -2,31 +2,44 @@ package com.avolta.services;
 
 import com.avolta.dto.NewsletterSubscriberDto;
 import com.avolta.dto.requests.NewsletterSubscriptionRequest;
+import com.avolta.events.DomainEventBus;
+import com.avolta.events.PublicationSnapshot;
+import com.avolta.events.SubscriberChanged;
 import com.avolta.exceptions.ResourceNotFoundException;
 import com.avolta.models.NewsletterSubscriber;
-import com.avolta.models.Publication;
 import com.avolta.repositories.NewsletterSubscriberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NewsletterService {
 
     private final NewsletterSubscriberRepository subscriberRepository;
+    private final MeterRegistry meterRegistry;
+    private final DomainEventBus domainEventBus;
+    private final EntityManager entityManager;
     // In a real application, you would inject an email service here
     // private final EmailService emailService;
 
     @Transactional(readOnly = true)
-    public List<NewsletterSubscriberDto> getAllSubscribers() {
-        return subscriberRepository.findAll().stream()
-                .map(NewsletterSubscriberDto::fromEntity)
-                .collect(Collectors.toList());
+    public void forEachSubscriber(Consumer<? super NewsletterSubscriberDto> action) {
+        try (Stream<NewsletterSubscriber> subscribers = subscriberRepository.streamAll()) {
+            subscribers.forEach(subscriber -> {
+                action.accept(NewsletterSubscriberDto.fromEntity(subscriber));
+                entityManager.detach(subscriber);
+            });
+        }
     }
 
     @Transactional
@@ -45,9 +58,13 @@ public class NewsletterService {
             }
             
             // Set as confirmed (in a real app, you would send a confirmation email)
+            boolean wasConfirmed = existingSubscriber.isConfirmed();
             existingSubscriber.setConfirmed(true);
             
             NewsletterSubscriber updatedSubscriber = subscriberRepository.save(existingSubscriber);
+            meterRegistry.counter("newsletter.subscriptions", "type", "existing").increment();
+            domainEventBus.publish(new SubscriberChanged(updatedSubscriber.getId(), updatedSubscriber.getEmail(),
+                    SubscriberChanged.Change.UPDATED, wasConfirmed, updatedSubscriber.isConfirmed()));
             return NewsletterSubscriberDto.fromEntity(updatedSubscriber);
         }
         
@@ -59,6 +76,9 @@ public class NewsletterService {
         subscriber.setConfirmed(true); // In a real app, this would be false until confirmed via email
         
         NewsletterSubscriber savedSubscriber = subscriberRepository.save(subscriber);
+        meterRegistry.counter("newsletter.subscriptions", "type", "new").increment();
+        domainEventBus.publish(new SubscriberChanged(savedSubscriber.getId(), savedSubscriber.getEmail(),
+                SubscriberChanged.Change.SUBSCRIBED, false, savedSubscriber.isConfirmed()));
         
         // In a real app, you would send a confirmation email here
         // emailService.sendConfirmationEmail(savedSubscriber);
@@ -72,35 +92,34 @@ public class NewsletterService {
                 .orElseThrow(() -> new ResourceNotFoundException("Subscriber not found with email: " + email));
         
         subscriberRepository.delete(subscriber);
+        meterRegistry.counter("newsletter.unsubscriptions").increment();
+        domainEventBus.publish(new SubscriberChanged(subscriber.getId(), subscriber.getEmail(),
+                SubscriberChanged.Change.UNSUBSCRIBED, subscriber.isConfirmed(), false));
     }
 
     @Transactional
     public void deleteSubscriber(String id) {
-        if (!subscriberRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Subscriber not found with id: " + id);
-        }
-        subscriberRepository.deleteById(id);
+        NewsletterSubscriber subscriber = subscriberRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscriber not found with id: " + id));
+        subscriberRepository.delete(subscriber);
+        domainEventBus.publish(new SubscriberChanged(id, subscriber.getEmail(), SubscriberChanged.Change.DELETED,
+                subscriber.isConfirmed(), false));
     }
 
     @Transactional
-    public void sendNewsletter(Publication publication) {
-        List<NewsletterSubscriber> confirmedSubscribers = subscriberRepository.findAll().stream()
-                .filter(NewsletterSubscriber::isConfirmed)
-                .collect(Collectors.toList());
+    public void sendNewsletter(PublicationSnapshot publication) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         
         // In a real app, you would send emails to all confirmed subscribers
         // emailService.sendNewsletterAboutPublication(confirmedSubscribers, publication);
         
-        // Update last_sent_at for all subscribers
-        LocalDateTime now = LocalDateTime.now();
-        confirmedSubscribers.forEach(subscriber -> {
-            subscriber.setLastSentAt(now);
-            subscriberRepository.save(subscriber);
-        });
+        // Update last_sent_at for all confirmed subscribers in a single statement
+        int recipients = subscriberRepository.markConfirmedSubscribersSent(LocalDateTime.now());
         
-        // Log the newsletter sending
-        System.out.println("Newsletter about publication '" + publication.getTitle() + 
-                "' sent to " + confirmedSubscribers.size() + " subscribers");
+        sample.stop(meterRegistry.timer("newsletter.send"));
+        meterRegistry.counter("newsletter.recipients").increment(recipients);
+        log.info("Newsletter about publication '{}' sent to {} subscribers",
+                publication.getTitle(), recipients);
     }
 
     @Transactional
@@ -108,6 +127,6 @@ public class NewsletterService {
         // In a real app, you would send a test email
         // emailService.sendTestEmail(email);
         
-        System.out.println("Test email sent to: " + email);
+        log.info("Test email sent to: {}", email);
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.avolta.services;
+
+import com.avolta.dto.ProfilingStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Pilote un enregistrement Java Flight Recorder unique sur le trafic réel : démarrage, dump à chaud, arrêt.
+ * Seuls les {@code app.jfr.max-dumps} derniers fichiers sont conservés dans {@code app.jfr.dump-dir}.
+ */
+@Slf4j
+@Service
+public class ProfilingService {
+
+    private static final String RECORDING_NAME = "avolta-profiling";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String settings;
+    // Instant du dernier fichier nommé : deux dumps dans la même milliseconde ne s'écrasent pas
+    private Instant lastDumpAt = Instant.EPOCH;
+
+    @Value("${app.jfr.dump-dir:${java.io.tmpdir}/avolta-jfr}")
+    private String dumpDir;
+
+    @Value("${app.jfr.max-age:PT30M}")
+    private Duration maxAge;
+
+    @Value("${app.jfr.max-size:268435456}")
+    private long maxSize;
+
+    @Value("${app.jfr.max-dumps:5}")
+    private int maxDumps;
+
+    /**
+     * Démarre un enregistrement avec une configuration JFR ("default" : ~1% de surcoût, "profile" : plus détaillée).
+     * Retourne {@code false} si un enregistrement est déjà en cours.
+     */
+    public boolean start(String settingsName) throws IOException {
+        if (!SETTINGS.contains(settingsName)) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settingsName);
+        }
+        lock.lock();
+        try {
+            if (isRunning()) {
+                return false;
+            }
+            Recording newRecording;
+            try {
+                newRecording = new Recording(Configuration.getConfiguration(settingsName));
+            } catch (ParseException e) {
+                throw new IOException("Invalid JFR settings: " + settingsName, e);
+            }
+            newRecording.setName(RECORDING_NAME);
+            // Les événements applicatifs sont activés dans les deux configurations, sans trace de pile
+            newRecording.enable("com.avolta.JwtAuthorization");
+            newRecording.enable("com.avolta.ServiceCall");
+            newRecording.enable("com.avolta.RepositoryCall");
+            newRecording.enable("com.avolta.Serialization");
+            // Threads virtuels épinglés sur leur porteur (bloc synchronized autour d'un appel bloquant), JDK 21+
+            newRecording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(maxAge);
+            newRecording.setMaxSize(maxSize);
+            newRecording.start();
+            recording = newRecording;
+            settings = settingsName;
+            log.info("JFR recording started with settings '{}'", settingsName);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Écrit le contenu courant de l'enregistrement sans l'arrêter. Retourne {@code null} si rien n'est enregistré.
+     */
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                return null;
+            }
+            Path file = nextDumpFile();
+            recording.dump(file);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Arrête l'enregistrement et retourne le fichier final, ou {@code null} si rien n'est enregistré.
+     */
+    public Path stop() throws IOException {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                return null;
+            }
+            Path file = nextDumpFile();
+            recording.setDestination(file);
+            recording.stop();
+            recording.close();
+            recording = null;
+            log.info("JFR recording stopped, written to {}", file);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ProfilingStatus getStatus() {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                return new ProfilingStatus(false, null, null, 0, 0);
+            }
+            Instant startedAt = recording.getStartTime();
+            return new ProfilingStatus(true, settings, startedAt,
+                    Duration.between(startedAt, Instant.now()).toMillis(), recording.getSize());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private Path nextDumpFile() throws IOException {
+        Path directory = Paths.get(dumpDir);
+        Files.createDirectories(directory);
+        deleteOldDumps(directory);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        lastDumpAt = now.isAfter(lastDumpAt) ? now : lastDumpAt.plusMillis(1);
+        return directory.resolve(RECORDING_NAME + "-" + FILE_TIMESTAMP.format(lastDumpAt) + ".jfr");
+    }
+
+    /**
+     * Laisse la place du prochain fichier : au plus {@code max-dumps - 1} dumps conservés, les plus récents.
+     */
+    private void deleteOldDumps(Path directory) throws IOException {
+        List<Path> dumps;
+        // Horodatage dans le nom : l'ordre alphabétique est l'ordre chronologique
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(file -> file.getFileName().toString().startsWith(RECORDING_NAME + "-")
+                            && file.getFileName().toString().endsWith(".jfr"))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < dumps.size() - Math.max(0, maxDumps - 1); i++) {
+            try {
+                Files.deleteIfExists(dumps.get(i));
+                log.info("Deleted old JFR dump {}", dumps.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to delete old JFR dump {}: {}", dumps.get(i), e.getMessage());
+            }
+        }
+    }
+}
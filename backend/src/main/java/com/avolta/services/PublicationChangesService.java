@@ -0,0 +1,127 @@
+package com.avolta.services;
+
+import com.avolta.dto.PublicationChangesDto;
+import com.avolta.dto.PublicationDto;
+import com.avolta.models.Publication;
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Flux de changements des publications actives ({@code GET /api/publications/public/changes}).
+ * <p>
+ * Le jeton encode la version atteinte à la synchronisation précédente ({@link PublicationVersionService}) et
+ * l'instant de la lecture. Les versions suivent l'ordre des commits : toute version inférieure ou égale à
+ * {@code current()}, lu en premier, est visible, et aucune écriture ne peut être manquée, quels que soient le
+ * délai avant commit ou l'horloge des nœuds. L'instant ne sert qu'aux entrées et sorties de la période de
+ * validité, qui dépendent de l'heure et non d'une écriture, et à la rétention des tombstones. Un jeton absent,
+ * illisible ou plus ancien que cette rétention renvoie toute la liste active avec {@code reset=true}.
+ * <p>
+ * La lecture reste sur le primaire : une réplique en retard rendrait un jeton antérieur à celui du client.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PublicationChangesService {
+
+    private static final String TOKEN_PREFIX = "v2:";
+
+    private final PublicationRepository publicationRepository;
+    private final PublicationTombstoneRepository tombstoneRepository;
+    private final PublicationVersionService publicationVersionService;
+
+    @Value("${app.publications.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    // Transaction en écriture : routée vers le primaire par ReplicaRoutingDataSource
+    @Transactional
+    public PublicationChangesDto getChangesSince(String token) {
+        long upToVersion = publicationVersionService.current();
+        LocalDateTime now = LocalDateTime.now();
+        String nextToken = encodeToken(new Cursor(upToVersion, now));
+        Optional<Cursor> since = decodeToken(token)
+                .filter(cursor -> cursor.getAt().isAfter(now.minus(tombstoneRetention)));
+        if (since.isEmpty()) {
+            List<PublicationDto> active = publicationRepository.findActivePublications(now).stream()
+                    .map(PublicationDto::fromEntity)
+                    .toList();
+            return new PublicationChangesDto(nextToken, true, active, List.of());
+        }
+
+        Cursor from = since.get();
+        List<PublicationDto> upserted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (Publication publication : publicationRepository.findChangedBetween(from.getVersion(), upToVersion,
+                from.getAt(), now)) {
+            if (isActive(publication, now)) {
+                upserted.add(PublicationDto.fromEntity(publication));
+            } else if (publication.getStatus() == Publication.Status.PUBLISHED) {
+                // Expirée ou repoussée : une publication en attente n'a jamais été visible
+                removed.add(publication.getId());
+            }
+        }
+        removed.addAll(tombstoneRepository.findPublicationIdsDeletedBetween(from.getVersion(), upToVersion));
+        return new PublicationChangesDto(nextToken, false, upserted, removed);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${app.publications.changes.tombstone-purge-cron:0 45 3 * * *}")
+    public void purgeTombstones() {
+        int deleted = tombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} publication tombstone(s)", deleted);
+    }
+
+    private static boolean isActive(Publication publication, LocalDateTime now) {
+        return publication.getStatus() == Publication.Status.PUBLISHED
+                && !publication.getValidFrom().isAfter(now)
+                && !publication.getValidTo().isBefore(now);
+    }
+
+    static String encodeToken(Cursor cursor) {
+        long epochMillis = cursor.getAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (TOKEN_PREFIX + cursor.getVersion() + ":" + epochMillis).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static Optional<Cursor> decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            // Jeton v1 (horodatage seul) : remise à zéro
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                return Optional.empty();
+            }
+            String[] parts = decoded.substring(TOKEN_PREFIX.length()).split(":", -1);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            return Optional.of(new Cursor(Long.parseLong(parts[0]),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[1])), ZoneId.systemDefault())));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @lombok.Value
+    static class Cursor {
+        long version;
+        LocalDateTime at;
+    }
+}
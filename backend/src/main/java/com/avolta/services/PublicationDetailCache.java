@@ -0,0 +1,157 @@
+package com.avolta.services;
+
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationEvent;
+import com.avolta.cache.InvalidationListener;
+import com.avolta.dto.PublicationDto;
+import com.avolta.exceptions.ResourceNotFoundException;
+import com.avolta.models.Comment;
+import com.avolta.models.Publication;
+import com.avolta.repositories.CommentRepository;
+import com.avolta.repositories.PublicationRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Cache du détail des publications ({@code GET /api/publications/{id}} et {@code /public/{id}}).
+ * <p>
+ * Les requêtes concurrentes sur une même clé absente partagent le même chargement : un seul
+ * {@code findWithDetailsById} s'exécute, les autres attendent son résultat. Les entrées sont
+ * rechargées en arrière-plan après {@code refresh-after} et expirent après {@code ttl}.
+ * Elles sont évincées par le bus d'invalidation, sur ce nœud comme sur les autres. Les likes ne
+ * déclenchent pas d'invalidation et peuvent donc avoir jusqu'à {@code refresh-after} de retard.
+ * <p>
+ * Une lecture groupée ({@link #getAll(Collection)}) charge toutes ses clés absentes ensemble : une requête
+ * {@code IN} pour les publications et leur auteur, une autre pour leurs commentaires.
+ * <p>
+ * Les chargements lisent le primaire, jamais une réplique : ils tournent sur l'exécuteur, hors du suivi
+ * read-your-writes, et le premier après une éviction mettrait sinon en cache pour tous une version antérieure
+ * à l'écriture. Le cache absorbe les lectures ; seuls les chargements atteignent le primaire.
+ */
+@Slf4j
+@Component
+public class PublicationDetailCache implements InvalidationListener {
+
+    private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final AsyncLoadingCache<String, PublicationDto> cache;
+
+    public PublicationDetailCache(PublicationRepository publicationRepository,
+                                  CommentRepository commentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.cache.publication-details.max-size:10000}") long maxSize,
+                                  @Value("${app.cache.publication-details.refresh-after:PT30S}") Duration refreshAfter,
+                                  @Value("${app.cache.publication-details.ttl:PT10M}") Duration ttl) {
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        // Transaction en écriture : routée vers le primaire par ReplicaRoutingDataSource
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new CacheLoader<String, PublicationDto>() {
+                    @Override
+                    public PublicationDto load(String id) {
+                        return PublicationDetailCache.this.load(id);
+                    }
+
+                    @Override
+                    public Map<String, PublicationDto> loadAll(Set<? extends String> ids) {
+                        return PublicationDetailCache.this.loadAll(ids);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "publication-details");
+    }
+
+    public PublicationDto get(String id) {
+        PublicationDto publication = join(cache.get(id));
+        if (publication == null) {
+            throw new ResourceNotFoundException("Publication not found with id: " + id);
+        }
+        return publication;
+    }
+
+    /**
+     * Publications trouvées, par identifiant ; les identifiants inconnus sont absents du résultat.
+     */
+    public Map<String, PublicationDto> getAll(Collection<String> ids) {
+        return join(cache.getAll(ids));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.getEntity() == CachedEntity.PUBLICATION) {
+            evict(event.getId());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public void evict(String id) {
+        cache.synchronous().invalidate(id);
+        log.debug("Publication detail cache evicted for {}", id);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Remonte l'exception du chargement telle quelle au GlobalExceptionHandler
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Retourne null pour un identifiant inconnu : Caffeine ne met pas l'absence en cache
+    private PublicationDto load(String id) {
+        return primaryTransaction.execute(status -> publicationRepository.findWithDetailsById(id)
+                .map(PublicationDto::fromEntity)
+                .orElse(null));
+    }
+
+    private Map<String, PublicationDto> loadAll(Set<? extends String> ids) {
+        return primaryTransaction.execute(status -> {
+            List<String> keys = List.copyOf(ids);
+            Map<String, List<Comment>> comments = commentRepository.findWithAuthorByPublicationIdIn(keys).stream()
+                    .collect(Collectors.groupingBy(comment -> comment.getPublication().getId()));
+            Map<String, PublicationDto> publications = new HashMap<>();
+            for (Publication publication : publicationRepository.findWithAuthorByIdIn(keys)) {
+                publications.put(publication.getId(), PublicationDto.fromEntity(publication,
+                        comments.getOrDefault(publication.getId(), List.of())));
+            }
+            return publications;
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.avolta.services;
+
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationEvent;
+import com.avolta.cache.InvalidationListener;
+import com.avolta.dto.PublicationFacetsDto;
+import com.avolta.facets.PublicationFacets;
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Facettes des publications ({@code GET /api/publications/public/facets} et {@code /stats/facets}) : nombres
+ * par catégorie, statut et mois, sans lire de lignes à la requête.
+ * <p>
+ * Les comptages suivent le bus d'invalidation : les publications écrites, sur ce nœud comme sur les autres,
+ * sont relues toutes les {@code refresh-interval} par leurs seules colonnes de facette. Toutes les
+ * {@code verify-interval}, les comptages sont comparés à un {@code GROUP BY} en base et rechargés en cas d'écart.
+ */
+@Slf4j
+@Service
+public class PublicationFacetService implements InvalidationListener, SmartInitializingSingleton {
+
+    private final PublicationRepository publicationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PublicationFacets facets = new PublicationFacets(LocalDateTime.now());
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter drifts;
+    private volatile boolean reloadRequested;
+
+    public PublicationFacetService(PublicationRepository publicationRepository,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.publicationRepository = publicationRepository;
+        // Transaction en écriture : la lecture doit voir le primaire, jamais une réplique en retard
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("publications.facets.publications", facets, PublicationFacets::size)
+                .description("Publications comptées dans les facettes")
+                .register(meterRegistry);
+        this.drifts = Counter.builder("publications.facets.drifts")
+                .description("Vérifications des facettes en écart avec la base")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        lock.lock();
+        try {
+            reload();
+            log.info("Publication facets loaded with {} publication(s)", facets.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public PublicationFacetsDto.FacetCounts getActiveFacets() {
+        return PublicationFacetsDto.FacetCounts.of(facets.active());
+    }
+
+    public PublicationFacetsDto getFacets() {
+        return new PublicationFacetsDto(PublicationFacetsDto.FacetCounts.of(facets.active()),
+                PublicationFacetsDto.FacetCounts.of(facets.all()));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.getEntity() == CachedEntity.PUBLICATION) {
+            pending.add(event.getId());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        reloadRequested = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.refresh-interval:PT1S}")
+    public void refresh() {
+        lock.lock();
+        Set<String> ids = new HashSet<>();
+        boolean reloading = reloadRequested;
+        try {
+            if (reloading) {
+                reloadRequested = false;
+                reload();
+                return;
+            }
+            for (String id : pending) {
+                pending.remove(id);
+                ids.add(id);
+            }
+            if (!ids.isEmpty()) {
+                List<PublicationState> states = transactionTemplate.execute(status ->
+                        publicationRepository.findStatesByIdIn(ids));
+                for (PublicationState state : states) {
+                    facets.put(toEntry(state));
+                    ids.remove(state.getId());
+                }
+                // Supprimées
+                ids.forEach(facets::remove);
+            }
+            facets.advance(LocalDateTime.now());
+        } catch (DataAccessException | TransactionException e) {
+            if (reloading) {
+                reloadRequested = true;
+            }
+            pending.addAll(ids);
+            log.warn("Failed to refresh publication facets: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compare les comptages à la base. Une écriture en cours de propagation peut provoquer un faux écart :
+     * le rechargement qui suit est alors sans effet.
+     */
+    @Scheduled(fixedDelayString = "${app.facets.verify-interval:PT10M}",
+            initialDelayString = "${app.facets.verify-interval:PT10M}")
+    public void verify() {
+        lock.lock();
+        try {
+            Map<String, Long> expected = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> publicationRepository.countFacetGroups()
+                    .forEach(group -> expected.put(PublicationFacets.groupKey(group.getCategory(), group.getStatus(),
+                            YearMonth.of(group.getYear(), group.getMonth())), group.getCount())));
+            Map<String, Long> actual = facets.groups();
+            if (!expected.equals(actual)) {
+                drifts.increment();
+                log.warn("Publication facets drifted from the database ({} group(s) expected, {} in memory): reloading",
+                        expected.size(), actual.size());
+                reload();
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to verify publication facets: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PublicationFacets.Entry> entries = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> publicationRepository.findAllStates()
+                .forEach(state -> entries.add(toEntry(state))));
+        facets.reset(entries, now);
+    }
+
+    private static PublicationFacets.Entry toEntry(PublicationState state) {
+        return new PublicationFacets.Entry(state.getId(), state.getCategory(), state.getStatus(),
+                state.getValidFrom(), state.getValidTo());
+    }
+}
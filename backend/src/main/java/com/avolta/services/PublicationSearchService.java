@@ -0,0 +1,263 @@
+package com.avolta.services;
+
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationEvent;
+import com.avolta.cache.InvalidationListener;
+import com.avolta.dto.PublicationDto;
+import com.avolta.models.Publication;
+import com.avolta.repositories.CommentRepository;
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationState;
+import com.avolta.repositories.PublicationTombstoneRepository;
+import com.avolta.search.IndexedPublication;
+import com.avolta.search.PublicationSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche plein texte des publications actives ({@code GET /api/publications/public/search}).
+ * <p>
+ * L'index suit le bus d'invalidation : chaque écriture sur une publication ou ses commentaires, sur ce nœud
+ * comme sur les autres, marque la publication à réindexer. Toutes les {@code refresh-interval}, les publications
+ * marquées sont relues par lots et réindexées ; les recherches les voient aussitôt. Les segments sont écrits sur
+ * disque toutes les {@code commit-interval} et à l'arrêt. Au démarrage, seules les publications modifiées ou
+ * supprimées depuis le dernier commit sont relues ; l'index est reconstruit s'il est absent ou plus ancien que
+ * la rétention des tombstones.
+ */
+@Slf4j
+@Service
+public class PublicationSearchService implements InvalidationListener, SmartInitializingSingleton {
+
+    private final PublicationSearchIndex index;
+    private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
+    private final PublicationTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean rebuildRequested;
+    // Protégés par lock
+    private LocalDateTime syncedUpTo;
+    private LocalDateTime committedUpTo;
+    private LocalDateTime lastCommit = LocalDateTime.now();
+
+    @Value("${app.search.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.search.commit-interval:PT1M}")
+    private Duration commitInterval;
+
+    @Value("${app.search.max-limit:50}")
+    private int maxLimit;
+
+    @Value("${app.search.max-query-length:200}")
+    private int maxQueryLength;
+
+    @Value("${app.search.catch-up-overlap:PT5S}")
+    private Duration overlap;
+
+    @Value("${app.publications.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    public PublicationSearchService(PublicationSearchIndex index, PublicationRepository publicationRepository,
+                                    CommentRepository commentRepository,
+                                    PublicationTombstoneRepository tombstoneRepository,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("publications.search.documents", index, PublicationSearchIndex::size)
+                .description("Publications présentes dans l'index de recherche")
+                .register(meterRegistry);
+        Gauge.builder("publications.search.pending", pending, Set::size)
+                .description("Publications en attente de réindexation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Met l'index à jour avant l'ouverture du port HTTP.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime indexedUpTo = index.getIndexedUpTo();
+        lock.lock();
+        try {
+            if (indexedUpTo == null || indexedUpTo.isBefore(now.minus(tombstoneRetention))) {
+                rebuild(now);
+                log.info("Search index rebuilt with {} publication(s) in {} ms", index.size(),
+                        Duration.ofNanos(System.nanoTime() - start).toMillis());
+            } else {
+                LocalDateTime from = indexedUpTo.minus(overlap);
+                Set<String> changed = new HashSet<>();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    publicationRepository.findStatesUpdatedBetween(from, now).stream()
+                            .map(PublicationState::getId)
+                            .forEach(changed::add);
+                    changed.addAll(tombstoneRepository.findPublicationIdsDeletedAfter(from));
+                });
+                reindex(changed);
+                commit(now);
+                log.info("Search index opened with {} publication(s), {} reindexed since {} in {} ms",
+                        index.size(), changed.size(), indexedUpTo,
+                        Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PublicationDto> search(String query, String category, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (query.length() > maxQueryLength) {
+            throw new IllegalArgumentException("Search query must not exceed " + maxQueryLength + " characters");
+        }
+        List<String> ids = index.search(query, category == null || category.isBlank() ? null : category,
+                        Math.max(1, Math.min(limit, maxLimit)), LocalDateTime.now()).stream()
+                .map(PublicationSearchIndex.Hit::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Recherche par clé primaire : l'ordre vient de l'index
+        Map<String, Publication> publications = publicationRepository.findWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Publication::getId, Function.identity()));
+        return ids.stream()
+                .map(publications::get)
+                .filter(Objects::nonNull)
+                .map(PublicationDto::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.getEntity() == CachedEntity.PUBLICATION) {
+            pending.add(event.getId());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        rebuildRequested = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval:PT1S}")
+    public void refresh() {
+        lock.lock();
+        Set<String> ids = new HashSet<>();
+        boolean rebuilding = rebuildRequested;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (rebuilding) {
+                rebuildRequested = false;
+                rebuild(now);
+                return;
+            }
+            for (String id : pending) {
+                pending.remove(id);
+                ids.add(id);
+            }
+            reindex(ids);
+            syncedUpTo = now;
+            if (!syncedUpTo.equals(committedUpTo) && lastCommit.plus(commitInterval).isBefore(now)) {
+                commit(syncedUpTo);
+            }
+        } catch (DataAccessException | TransactionException | UncheckedIOException e) {
+            // Reprises au prochain passage
+            if (rebuilding) {
+                rebuildRequested = true;
+            }
+            pending.addAll(ids);
+            log.warn("Failed to update the search index: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void commitOnShutdown() {
+        lock.lock();
+        try {
+            if (syncedUpTo != null && !syncedUpTo.equals(committedUpTo)) {
+                commit(syncedUpTo);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuild(LocalDateTime now) {
+        List<String> ids = readOnlyTransaction.execute(status -> publicationRepository.findAllIds());
+        index.deleteAll();
+        reindex(ids);
+        commit(now);
+    }
+
+    private void reindex(Collection<String> ids) {
+        List<String> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<String> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            List<IndexedPublication> publications = readOnlyTransaction.execute(status -> load(batch));
+            Set<String> found = new HashSet<>();
+            for (IndexedPublication publication : publications) {
+                index.update(publication);
+                found.add(publication.getId());
+            }
+            // Supprimées entre-temps
+            batch.stream().filter(id -> !found.contains(id)).forEach(index::delete);
+        }
+        index.refresh();
+    }
+
+    private List<IndexedPublication> load(List<String> ids) {
+        Map<String, List<String>> comments = commentRepository.findCommentTextsByPublicationIdIn(ids).stream()
+                .collect(Collectors.groupingBy(CommentRepository.CommentText::getPublicationId,
+                        Collectors.mapping(CommentRepository.CommentText::getContent, Collectors.toList())));
+        return publicationRepository.findWithDetailsByIdIn(ids).stream()
+                .map(publication -> new IndexedPublication(publication.getId(), publication.getTitle(),
+                        publication.getContent(), comments.getOrDefault(publication.getId(), List.of()),
+                        publication.getCategory(), publication.getStatus(), publication.getValidFrom(),
+                        publication.getValidTo()))
+                .toList();
+    }
+
+    private void commit(LocalDateTime upTo) {
+        index.commit(upTo);
+        syncedUpTo = upTo;
+        committedUpTo = upTo;
+        lastCommit = LocalDateTime.now();
+    }
+}
@@ -1,66 +1,149 @@
 package com.avolta.services;
 
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationBus;
+import com.avolta.dto.CommentDto;
+import com.avolta.dto.PublicationBatchDto;
 import com.avolta.dto.PublicationDto;
 import com.avolta.dto.requests.CreatePublicationRequest;
 import com.avolta.dto.requests.UpdatePublicationRequest;
+import com.avolta.events.DomainEventBus;
+import com.avolta.events.PublicationApproved;
+import com.avolta.events.PublicationCreated;
+import com.avolta.events.PublicationDeleted;
+import com.avolta.events.PublicationLiked;
+import com.avolta.events.PublicationSnapshot;
+import com.avolta.events.PublicationUpdated;
 import com.avolta.exceptions.ResourceNotFoundException;
+import com.avolta.fields.FieldSelection;
+import com.avolta.models.Comment;
 import com.avolta.models.Publication;
+import com.avolta.models.PublicationTombstone;
 import com.avolta.models.User;
+import com.avolta.repositories.CommentRepository;
 import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationTombstoneRepository;
 import com.avolta.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PublicationService {
 
     private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
     private final UserRepository userRepository;
-    private final NewsletterService newsletterService;
+    private final PublicationTombstoneRepository publicationTombstoneRepository;
+    private final PublicationDetailCache publicationDetailCache;
+    private final PublicationVersionService publicationVersionService;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus domainEventBus;
+    private final EntityManager entityManager;
     @Value("${app.api-base-url}")
     private String apiBaseUrl;
 
+    @Value("${app.streaming.batch-size:200}")
+    private int streamingBatchSize;
+
+    @Value("${app.publications.batch.max-ids:100}")
+    private int batchMaxIds;
+
+    /**
+     * Parcourt toutes les publications par curseur, sans les garder en mémoire (réponse en flux). Avec une
+     * sélection de champs, seules leurs colonnes sont lues, et les commentaires seulement s'ils sont demandés.
+     */
     @Transactional(readOnly = true)
-    public List<PublicationDto> getAllPublications() {
-        return publicationRepository.findAll().stream()
-                .map(PublicationDto::fromEntity)
-                .collect(Collectors.toList());
+    public void forEachPublication(FieldSelection fields, Consumer<? super PublicationDto> action) {
+        if (!fields.isAll()) {
+            try (Stream<PublicationDto> publications = publicationRepository.streamProjected(fields, null)) {
+                forEachProjectedInBatches(publications, fields, action);
+            }
+            return;
+        }
+        try (Stream<Publication> publications = publicationRepository.streamAllWithAuthor()) {
+            forEachInBatches(publications, action);
+        }
     }
 
     @Transactional(readOnly = true)
-    public List<PublicationDto> getActivePublications() {
+    public List<PublicationDto> getActivePublications(FieldSelection fields) {
+        if (!fields.isAll()) {
+            return withComments(publicationRepository.findActiveProjected(fields, LocalDateTime.now(), null), fields);
+        }
         return publicationRepository.findActivePublications(LocalDateTime.now()).stream()
                 .map(PublicationDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<PublicationDto> getActivePublicationsByCategory(String category) {
+    public List<PublicationDto> getActivePublicationsByCategory(String category, FieldSelection fields) {
+        if (!fields.isAll()) {
+            return withComments(publicationRepository.findActiveProjected(fields, LocalDateTime.now(), category),
+                    fields);
+        }
         return publicationRepository.findActivePublicationsByCategory(LocalDateTime.now(), category).stream()
                 .map(PublicationDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<PublicationDto> getPendingPublications() {
-        return publicationRepository.findByStatus(Publication.Status.PENDING).stream()
-                .map(PublicationDto::fromEntity)
-                .collect(Collectors.toList());
+    public void forEachPendingPublication(FieldSelection fields, Consumer<? super PublicationDto> action) {
+        if (!fields.isAll()) {
+            try (Stream<PublicationDto> publications =
+                         publicationRepository.streamProjected(fields, Publication.Status.PENDING)) {
+                forEachProjectedInBatches(publications, fields, action);
+            }
+            return;
+        }
+        try (Stream<Publication> publications =
+                     publicationRepository.streamByStatusWithAuthor(Publication.Status.PENDING)) {
+            forEachInBatches(publications, action);
+        }
     }
 
-    @Transactional(readOnly = true)
     public PublicationDto getPublicationById(String id) {
-        Publication publication = publicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
-        return PublicationDto.fromEntity(publication);
+        return publicationDetailCache.get(id);
+    }
+
+    /**
+     * Plusieurs détails en un appel, servis par le cache de détail : les publications absentes du cache sont
+     * chargées ensemble. Ne compte pas de vue.
+     */
+    public PublicationBatchDto getPublications(List<String> ids, boolean includeComments) {
+        Set<String> unique = new LinkedHashSet<>(ids);
+        if (unique.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " ids can be requested at once");
+        }
+        Map<String, PublicationDto> found = publicationDetailCache.getAll(unique);
+        Map<String, PublicationDto> publications = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String id : unique) {
+            PublicationDto publication = found.get(id);
+            if (publication == null) {
+                notFound.add(id);
+            }
+            publications.put(id, publication == null || includeComments ? publication : publication.withoutComments());
+        }
+        return new PublicationBatchDto(publications, notFound);
     }
 
     @Transactional
@@ -76,6 +159,7 @@ public class PublicationService {
         publication.setValidTo(request.getValidTo());
         publication.setCategory(request.getCategory());
         publication.setAuthor(author);
+        publication.markChanged(publicationVersionService.next());
 
         // If author is SUPERADMIN, publish immediately, otherwise set as PENDING
         if (author.getRole() == User.Role.SUPERADMIN) {
@@ -102,7 +186,7 @@ public class PublicationService {
             // Convertir l'URL relative en URL absolue
             if (!imageUrl.startsWith("http")) {
                 publication.setImageUrl(apiBaseUrl + imageUrl);
-                System.out.println("URL de l'image convertie en absolu: " + publication.getImageUrl());
+                log.debug("URL de l'image convertie en absolu: {}", publication.getImageUrl());
             } else {
                 publication.setImageUrl(imageUrl);
             }
@@ -110,18 +194,20 @@ public class PublicationService {
             publication.setImageUrl(imageUrl);
         }
 
-        // If publication is published and sendNewsletter is true, send newsletter
-        if (publication.getStatus() == Publication.Status.PUBLISHED && request.isSendNewsletter()) {
-            newsletterService.sendNewsletter(savedPublication);
-        }
+        // Rien à évincer, mais les autres nœuds apprennent la création (index de recherche)
+        invalidationBus.publish(CachedEntity.PUBLICATION, savedPublication.getId());
+        // La newsletter part après le commit, hors de la requête (NewsletterEventConsumer)
+        domainEventBus.publish(new PublicationCreated(PublicationSnapshot.of(savedPublication),
+                request.isSendNewsletter()));
 
         return PublicationDto.fromEntity(savedPublication);
     }
 
     @Transactional
     public PublicationDto updatePublication(String id, UpdatePublicationRequest request) {
-        Publication publication = publicationRepository.findById(id)
+        Publication publication = publicationRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+        publication.markChanged(publicationVersionService.next());
 
         if (request.getTitle() != null) {
             publication.setTitle(request.getTitle());
@@ -143,42 +229,129 @@ public class PublicationService {
         }
 
         Publication updatedPublication = publicationRepository.save(publication);
+        invalidationBus.publish(CachedEntity.PUBLICATION, id);
+        domainEventBus.publish(new PublicationUpdated(PublicationSnapshot.of(updatedPublication)));
         return PublicationDto.fromEntity(updatedPublication);
     }
 
     @Transactional
     public PublicationDto approvePublication(String id) {
-        Publication publication = publicationRepository.findById(id)
+        Publication publication = publicationRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+        publication.markChanged(publicationVersionService.next());
 
         publication.setStatus(Publication.Status.PUBLISHED);
         Publication approvedPublication = publicationRepository.save(publication);
+        invalidationBus.publish(CachedEntity.PUBLICATION, id);
+        domainEventBus.publish(new PublicationApproved(PublicationSnapshot.of(approvedPublication)));
         return PublicationDto.fromEntity(approvedPublication);
     }
 
     @Transactional
     public void rejectPublication(String id) {
-        if (!publicationRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Publication not found with id: " + id);
-        }
+        // Remplace existsById : même requête, les likes en plus pour les statistiques
+        int likes = publicationRepository.findLikesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+        long version = publicationVersionService.next();
+        int comments = commentRepository.deleteByPublicationId(id);
         publicationRepository.deleteById(id);
+        publicationTombstoneRepository.save(new PublicationTombstone(id, LocalDateTime.now(), version));
+        invalidationBus.publish(CachedEntity.PUBLICATION, id);
+        domainEventBus.publish(new PublicationDeleted(id, likes, comments));
     }
 
     @Transactional
     public void deletePublication(String id) {
-        if (!publicationRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Publication not found with id: " + id);
-        }
+        // Remplace existsById : même requête, les likes en plus pour les statistiques
+        int likes = publicationRepository.findLikesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+        long version = publicationVersionService.next();
+        int comments = commentRepository.deleteByPublicationId(id);
         publicationRepository.deleteById(id);
+        publicationTombstoneRepository.save(new PublicationTombstone(id, LocalDateTime.now(), version));
+        invalidationBus.publish(CachedEntity.PUBLICATION, id);
+        domainEventBus.publish(new PublicationDeleted(id, likes, comments));
     }
 
+    /**
+     * Un like n'est pas une modification du contenu : version et updatedAt restent inchangés, ni le flux SSE ni
+     * le flux de changements ne le signalent.
+     */
     @Transactional
     public PublicationDto likePublication(String id) {
-        Publication publication = publicationRepository.findById(id)
+        if (publicationRepository.incrementLikes(id) == 0) {
+            throw new ResourceNotFoundException("Publication not found with id: " + id);
+        }
+        int likes = publicationRepository.findLikesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+        // Détail en cache évincé au commit, sur tous les nœuds : sinon son nombre de likes attend le rafraîchissement
+        invalidationBus.publish(CachedEntity.PUBLICATION, id);
+        domainEventBus.publish(new PublicationLiked(id));
+        return publicationDetailCache.get(id).withLikes(likes);
+    }
 
-        publication.setLikes(publication.getLikes() + 1);
-        Publication updatedPublication = publicationRepository.save(publication);
-        return PublicationDto.fromEntity(updatedPublication);
+    /**
+     * Commentaires chargés en une requête par lot de publications ; la session est vidée après chaque lot pour
+     * que sa taille ne dépende pas du nombre de publications.
+     */
+    private void forEachInBatches(Stream<Publication> publications, Consumer<? super PublicationDto> action) {
+        List<Publication> batch = new ArrayList<>(streamingBatchSize);
+        Iterator<Publication> iterator = publications.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() < streamingBatchSize && iterator.hasNext()) {
+                continue;
+            }
+            Map<String, List<Comment>> comments = commentRepository.findWithAuthorByPublicationIdIn(
+                            batch.stream().map(Publication::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(comment -> comment.getPublication().getId()));
+            for (Publication publication : batch) {
+                action.accept(PublicationDto.fromEntity(publication,
+                        comments.getOrDefault(publication.getId(), List.of())));
+            }
+            batch.clear();
+            entityManager.clear();
+        }
+    }
+
+    private List<PublicationDto> withComments(List<PublicationDto> publications, FieldSelection fields) {
+        // Liste bornée aux publications actives : une seule lecture des commentaires, comme le graphe d'entités
+        if (fields.includes("comments") && !publications.isEmpty()) {
+            attachComments(publications);
+        }
+        return publications;
+    }
+
+    /**
+     * Publications projetées, complétées par lots de leurs commentaires quand ceux-ci sont demandés.
+     */
+    private void forEachProjectedInBatches(Stream<PublicationDto> publications, FieldSelection fields,
+                                           Consumer<? super PublicationDto> action) {
+        if (!fields.includes("comments")) {
+            publications.forEach(action);
+            return;
+        }
+        List<PublicationDto> batch = new ArrayList<>(streamingBatchSize);
+        Iterator<PublicationDto> iterator = publications.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() < streamingBatchSize && iterator.hasNext()) {
+                continue;
+            }
+            attachComments(batch);
+            batch.forEach(action);
+            batch.clear();
+            entityManager.clear();
+        }
+    }
+
+    private void attachComments(List<PublicationDto> publications) {
+        Map<String, List<CommentDto>> comments = commentRepository.findWithAuthorByPublicationIdIn(
+                        publications.stream().map(PublicationDto::getId).toList()).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getPublication().getId(),
+                        Collectors.mapping(CommentDto::fromEntity, Collectors.toList())));
+        for (PublicationDto publication : publications) {
+            publication.setComments(comments.getOrDefault(publication.getId(), List.of()));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.avolta.services;
+
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationState;
+import com.avolta.repositories.PublicationTombstoneRepository;
+import com.avolta.stream.SseBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Détecte les changements de la liste des publications actives et les pousse sur
+ * {@code GET /api/publications/public/stream} : {@code published}, {@code updated} ou {@code expired}.
+ * <p>
+ * Une seule lecture par nœud et par {@code poll-interval}, quel que soit le nombre de clients : ce nœud voit
+ * ainsi les écritures des autres nœuds et les publications qui entrent dans leur période de validité ou en
+ * sortent. Les écritures sont lues par version, comme le flux de changements ({@link PublicationChangesService}) :
+ * aucune n'est manquée, quel que soit son délai avant commit. La version connue de chaque publication active est
+ * gardée en mémoire, ce qui distingue publication et modification. Sans client connecté, rien n'est lu.
+ */
+@Slf4j
+@Service
+public class PublicationStreamNotifier {
+
+    private final PublicationRepository publicationRepository;
+    private final PublicationTombstoneRepository tombstoneRepository;
+    private final SseBroadcaster broadcaster;
+    private final PublicationVersionService publicationVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Protégés par lock ; null tant qu'aucun client n'est connecté
+    private Map<String, Long> activeVersions;
+    private long lastVersion;
+    private LocalDateTime lastCheck;
+
+    public PublicationStreamNotifier(PublicationRepository publicationRepository,
+                                     PublicationTombstoneRepository tombstoneRepository,
+                                     SseBroadcaster broadcaster,
+                                     PublicationVersionService publicationVersionService,
+                                     PlatformTransactionManager transactionManager) {
+        this.publicationRepository = publicationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.broadcaster = broadcaster;
+        this.publicationVersionService = publicationVersionService;
+        // Transaction en écriture : la lecture doit voir le primaire, jamais une réplique en retard
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.publications.stream.poll-interval:PT1S}")
+    public void detectChanges() {
+        lock.lock();
+        try {
+            if (!broadcaster.hasConnections()) {
+                activeVersions = null;
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (activeVersions == null) {
+                // Les clients se synchronisent à la connexion : seul l'état de départ est nécessaire
+                Map<String, Long> initial = new HashMap<>();
+                long version = transactionTemplate.execute(status -> {
+                    long current = publicationVersionService.current();
+                    publicationRepository.findActiveStates(now)
+                            .forEach(state -> initial.put(state.getId(), state.getVersion()));
+                    return current;
+                });
+                activeVersions = initial;
+                lastVersion = version;
+                lastCheck = now;
+                return;
+            }
+            Changes changes = transactionTemplate.execute(status -> {
+                long upToVersion = publicationVersionService.current();
+                return new Changes(upToVersion,
+                        publicationRepository.findStatesChangedBetween(lastVersion, upToVersion, lastCheck, now),
+                        tombstoneRepository.findPublicationIdsDeletedBetween(lastVersion, upToVersion));
+            });
+            lastVersion = changes.getUpToVersion();
+            lastCheck = now;
+            for (PublicationState state : changes.getStates()) {
+                Long known = activeVersions.get(state.getId());
+                if (state.isActiveAt(now)) {
+                    activeVersions.put(state.getId(), state.getVersion());
+                    if (known == null) {
+                        push("published", state.getId(), state.getVersion());
+                    } else if (state.getVersion() > known) {
+                        push("updated", state.getId(), state.getVersion());
+                    }
+                } else if (known != null) {
+                    activeVersions.remove(state.getId());
+                    push("expired", state.getId(), state.getVersion());
+                }
+            }
+            for (String id : changes.getRemovedIds()) {
+                Long known = activeVersions.remove(id);
+                if (known != null) {
+                    push("expired", id, known);
+                }
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // Mêmes versions et même intervalle relus au prochain passage
+            log.warn("Failed to read publication changes for the stream: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void push(String type, String id, long version) {
+        broadcaster.broadcast(type, new Notification(id, version));
+    }
+
+    @lombok.Value
+    public static class Notification {
+        String id;
+        long version;
+    }
+
+    @lombok.Value
+    private static class Changes {
+        long upToVersion;
+        List<PublicationState> states;
+        List<String> removedIds;
+    }
+}
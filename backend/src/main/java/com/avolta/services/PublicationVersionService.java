@@ -0,0 +1,86 @@
+package com.avolta.services;
+
+import com.avolta.models.ChangeSequence;
+import com.avolta.repositories.ChangeSequenceRepository;
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.repositories.PublicationTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Versions des publications, attribuées par un compteur en base commun à tous les nœuds.
+ * <p>
+ * {@link #next()} incrémente le compteur en SQL dans la transaction qui modifie la publication : la ligne du
+ * compteur reste verrouillée jusqu'au commit et les écritures concurrentes attendent leur tour. Les versions
+ * suivent donc l'ordre des commits, sans incrément perdu, et toute version inférieure ou égale à
+ * {@link #current()} est déjà validée : c'est le curseur du flux de changements et du flux SSE. Appeler
+ * {@link #next()} avant de modifier les lignes, pour que toutes les écritures prennent les verrous dans le même
+ * ordre. Les likes ne prennent pas de version.
+ */
+@Slf4j
+@Service
+public class PublicationVersionService implements SmartInitializingSingleton {
+
+    static final String SEQUENCE = "publications";
+
+    private final ChangeSequenceRepository sequenceRepository;
+    private final PublicationRepository publicationRepository;
+    private final PublicationTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PublicationVersionService(ChangeSequenceRepository sequenceRepository,
+                                     PublicationRepository publicationRepository,
+                                     PublicationTombstoneRepository tombstoneRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.publicationRepository = publicationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Crée le compteur au premier démarrage, au-dessus des versions déjà en base.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (sequenceRepository.existsById(SEQUENCE)) {
+                    return;
+                }
+                long start = Math.max(publicationRepository.findMaxVersion(), tombstoneRepository.findMaxVersion());
+                sequenceRepository.save(new ChangeSequence(SEQUENCE, start));
+                log.info("Publication version sequence created at {}", start);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Créé au même moment par un autre nœud
+            log.debug("Publication version sequence already created: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Version suivante, réservée jusqu'au commit de la transaction courante.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        if (sequenceRepository.increment(SEQUENCE) == 0) {
+            throw new IllegalStateException("Missing change sequence: " + SEQUENCE);
+        }
+        return current();
+    }
+
+    /**
+     * Dernière version validée, ou réservée par la transaction courante. À lire en premier dans la transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long current() {
+        return sequenceRepository.findValue(SEQUENCE)
+                .orElseThrow(() -> new IllegalStateException("Missing change sequence: " + SEQUENCE));
+    }
+}
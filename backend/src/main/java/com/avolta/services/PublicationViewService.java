@@ -0,0 +1,292 @@
+package com.avolta.services;
+
+import com.avolta.dto.ViewStatsDto;
+import com.avolta.events.DomainEvent;
+import com.avolta.events.DomainEventConsumer;
+import com.avolta.events.PublicationDeleted;
+import com.avolta.models.PublicationViewStats;
+import com.avolta.repositories.PublicationViewStatsRepository;
+import com.avolta.security.ClientAddressResolver;
+import com.avolta.views.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Vues des publications et visiteurs uniques, comptés en mémoire puis écrits par lots dans
+ * {@code publication_view_stats}.
+ * <p>
+ * Une consultation du détail n'écrit rien en base : elle incrémente un {@link LongAdder} et ajoute le hash du
+ * visiteur (adresse IP et User-Agent, jamais conservés) à un sketch {@link HyperLogLog} de 1 Ko, taille fixe
+ * quelle que soit l'audience. Toutes les {@code flush-interval}, les publications vues sont fusionnées en une
+ * transaction par lot de {@code batch-size} : vues ajoutées, sketches combinés registre par registre, ce qui
+ * permet à plusieurs nœuds d'écrire sur la même ligne. Les vues d'un flush en échec sont reprises au suivant.
+ * <p>
+ * Les tendances lisent les mêmes compteurs par {@link #sampleRecentViews} : une vue ne passe pas par le bus
+ * d'événements, dont le tampon reste réservé aux écritures.
+ */
+@Slf4j
+@Service
+public class PublicationViewService implements DomainEventConsumer {
+
+    // 2^10 registres d'un octet : taille de la colonne visitors_sketch
+    private static final int SKETCH_PRECISION = 10;
+
+    private final PublicationViewStatsRepository statsRepository;
+    private final ClientAddressResolver clientAddressResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<String, ViewCounter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private final Counter droppedViews;
+    private final int maxTracked;
+    private final int batchSize;
+    private final int evictAfterIdleFlushes;
+
+    @Value("${app.views.max-limit:100}")
+    private int maxLimit;
+
+    public PublicationViewService(PublicationViewStatsRepository statsRepository,
+                                  ClientAddressResolver clientAddressResolver,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                  @Value("${app.views.max-tracked:10000}") int maxTracked,
+                                  @Value("${app.views.batch-size:500}") int batchSize,
+                                  @Value("${app.views.flush-interval:PT1M}") Duration flushInterval,
+                                  @Value("${app.views.idle-timeout:PT1H}") Duration idleTimeout) {
+        this.statsRepository = statsRepository;
+        this.clientAddressResolver = clientAddressResolver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTracked = maxTracked;
+        this.batchSize = batchSize;
+        this.evictAfterIdleFlushes = (int) Math.max(1, idleTimeout.toMillis() / flushInterval.toMillis());
+        Gauge.builder("publications.views.tracked", counters, Map::size)
+                .description("Publications dont les vues sont comptées en mémoire sur ce nœud")
+                .register(meterRegistry);
+        this.droppedViews = Counter.builder("publications.views.dropped")
+                .description("Vues ignorées : max-tracked publications déjà suivies")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compte une consultation du détail de la publication. Aucune écriture en base.
+     */
+    public void record(String publicationId, HttpServletRequest request) {
+        ViewCounter counter = counters.get(publicationId);
+        if (counter == null) {
+            if (counters.size() >= maxTracked) {
+                droppedViews.increment();
+                return;
+            }
+            counter = counters.computeIfAbsent(publicationId, id -> new ViewCounter());
+        }
+        counter.record(HyperLogLog.hash(visitorKey(request)));
+    }
+
+    /**
+     * Vues comptées sur ce nœud depuis l'échantillon précédent, par publication vue entre-temps.
+     */
+    public void sampleRecentViews(BiConsumer<String, Long> action) {
+        sampleLock.lock();
+        try {
+            for (Map.Entry<String, ViewCounter> entry : counters.entrySet()) {
+                long delta = entry.getValue().takeSample();
+                if (delta > 0) {
+                    action.accept(entry.getKey(), delta);
+                }
+            }
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ViewStatsDto getViewStats(int limit) {
+        HyperLogLog union = new HyperLogLog(SKETCH_PRECISION);
+        List<ViewStatsDto.PublicationViews> publications = new ArrayList<>();
+        for (PublicationViewStatsRepository.ViewStatsRow row : statsRepository.findMostViewed(
+                Limit.of(Math.max(1, Math.min(limit, maxLimit))))) {
+            HyperLogLog visitors = HyperLogLog.fromBytes(row.getVisitorsSketch());
+            union.merge(row.getVisitorsSketch());
+            publications.add(new ViewStatsDto.PublicationViews(row.getPublicationId(), row.getTitle(),
+                    row.getViews(), visitors.estimate(), row.getUpdatedAt()));
+        }
+        return new ViewStatsDto(statsRepository.sumViews(), union.estimate(), publications);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:PT1M}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingViews> pending = new ArrayList<>();
+            for (Map.Entry<String, ViewCounter> entry : counters.entrySet()) {
+                PendingViews views = entry.getValue().takePending(entry.getKey());
+                if (views != null) {
+                    pending.add(views);
+                } else if (entry.getValue().idleFlushes >= evictAfterIdleFlushes) {
+                    evict(entry.getKey(), entry.getValue());
+                }
+            }
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<PendingViews> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(batch));
+                    batch.forEach(PendingViews::flushed);
+                } catch (DataAccessException | TransactionException e) {
+                    // Vues conservées en mémoire : le prochain flush ajoute le même écart
+                    batch.forEach(PendingViews::retry);
+                    log.warn("Failed to flush {} publication view counter(s): {}", batch.size(), e.getMessage());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public String name() {
+        return "views";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof PublicationDeleted deleted) {
+            counters.remove(deleted.getPublicationId());
+            transactionTemplate.executeWithoutResult(status ->
+                    statsRepository.deleteByPublicationId(deleted.getPublicationId()));
+        }
+    }
+
+    private void write(List<PendingViews> batch) {
+        Map<String, PublicationViewStats> existing = statsRepository.findAllForUpdate(
+                        batch.stream().map(PendingViews::getPublicationId).toList()).stream()
+                .collect(Collectors.toMap(PublicationViewStats::getPublicationId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<PublicationViewStats> rows = new ArrayList<>(batch.size());
+        for (PendingViews views : batch) {
+            PublicationViewStats row = existing.get(views.getPublicationId());
+            if (row == null) {
+                row = new PublicationViewStats(views.getPublicationId(), views.getSketch());
+            } else {
+                HyperLogLog visitors = HyperLogLog.fromBytes(row.getVisitorsSketch());
+                visitors.merge(views.getSketch());
+                row.setVisitorsSketch(visitors.toBytes());
+            }
+            row.setViews(row.getViews() + views.getDelta());
+            row.setUpdatedAt(now);
+            rows.add(row);
+        }
+        statsRepository.saveAll(rows);
+    }
+
+    private void evict(String publicationId, ViewCounter counter) {
+        counters.remove(publicationId, counter);
+        // Une vue arrivée pendant le retrait serait perdue : le compteur est remis en place
+        if (counter.dirty) {
+            ViewCounter current = counters.putIfAbsent(publicationId, counter);
+            if (current != null) {
+                current.absorb(counter);
+            }
+        }
+    }
+
+    private String visitorKey(HttpServletRequest request) {
+        // Même adresse que la limitation de débit : les en-têtes ne sont crus que derrière un proxy de confiance
+        String address = clientAddressResolver.resolve(request);
+        String userAgent = request.getHeader("User-Agent");
+        return address + '\n' + (userAgent == null ? "" : userAgent);
+    }
+
+    /**
+     * Compteur d'une publication. {@code dirty} est levé à chaque vue et baissé par le flush avant la lecture :
+     * une vue concurrente au flush sera reprise au suivant.
+     */
+    private static class ViewCounter {
+        private final LongAdder views = new LongAdder();
+        private final HyperLogLog visitors = new HyperLogLog(SKETCH_PRECISION);
+        private volatile boolean dirty;
+        // Modifiés par le seul thread du flush
+        private long flushedViews;
+        private int idleFlushes;
+        // Modifié sous sampleLock
+        private long sampledViews;
+
+        void record(long visitorHash) {
+            views.increment();
+            visitors.offer(visitorHash);
+            // Lecture avant écriture : pas d'écriture partagée à chaque vue une fois le drapeau levé
+            if (!dirty) {
+                dirty = true;
+            }
+        }
+
+        PendingViews takePending(String publicationId) {
+            if (!dirty) {
+                idleFlushes++;
+                return null;
+            }
+            idleFlushes = 0;
+            dirty = false;
+            long total = views.sum();
+            return new PendingViews(publicationId, this, total, total - flushedViews, visitors.toBytes());
+        }
+
+        long takeSample() {
+            long total = views.sum();
+            long delta = total - sampledViews;
+            sampledViews = total;
+            return delta;
+        }
+
+        void absorb(ViewCounter other) {
+            views.add(other.views.sum() - other.flushedViews);
+            visitors.merge(other.visitors.toBytes());
+            dirty = true;
+        }
+    }
+
+    @lombok.Value
+    private static class PendingViews {
+        String publicationId;
+        ViewCounter counter;
+        long total;
+        long delta;
+        byte[] sketch;
+
+        void flushed() {
+            counter.flushedViews = total;
+        }
+
+        void retry() {
+            counter.dirty = true;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.avolta.services;
+
+import com.avolta.dto.PublicationDto;
+import com.avolta.events.CommentAdded;
+import com.avolta.events.DomainEvent;
+import com.avolta.events.DomainEventConsumer;
+import com.avolta.events.PublicationApproved;
+import com.avolta.events.PublicationCreated;
+import com.avolta.events.PublicationDeleted;
+import com.avolta.events.PublicationLiked;
+import com.avolta.events.PublicationSnapshot;
+import com.avolta.events.PublicationUpdated;
+import com.avolta.models.Publication;
+import com.avolta.repositories.CommentRepository;
+import com.avolta.repositories.PublicationRepository;
+import com.avolta.trending.TrendingRanking;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publications tendances ({@code GET /api/publications/public/trending}) : likes, commentaires et vues pondérés
+ * par {@code app.trending.weights.*}, avec une décroissance de moitié toutes les {@code half-life}.
+ * <p>
+ * Le classement est tenu en mémoire, sans tri en base. Likes et commentaires arrivent par le bus d'événements ;
+ * les vues sont relevées toutes les {@code view-sample-interval} dans les compteurs de
+ * {@link PublicationViewService}, pour ne pas occuper le tampon du bus à chaque lecture. Il est
+ * reconstruit au démarrage depuis la base : les commentaires de la fenêtre {@code rebuild-window} à leur date,
+ * les likes, non datés, à la date de publication ; les vues ne sont pas conservées. Chaque instance ne voit que
+ * les événements qu'elle émet : sur plusieurs instances, les classements peuvent différer légèrement.
+ */
+@Slf4j
+@Service
+public class TrendingService implements DomainEventConsumer, SmartInitializingSingleton {
+
+    private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
+    private final PublicationViewService publicationViewService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TrendingRanking ranking;
+
+    @Value("${app.trending.weights.like:1}")
+    private double likeWeight;
+
+    @Value("${app.trending.weights.comment:3}")
+    private double commentWeight;
+
+    @Value("${app.trending.weights.view:0.2}")
+    private double viewWeight;
+
+    @Value("${app.trending.rebuild-window:P7D}")
+    private Duration rebuildWindow;
+
+    @Value("${app.trending.max-limit:50}")
+    private int maxLimit;
+
+    public TrendingService(PublicationRepository publicationRepository, CommentRepository commentRepository,
+                           PublicationViewService publicationViewService, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${app.trending.half-life:PT24H}") Duration halfLife) {
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        this.publicationViewService = publicationViewService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ranking = new TrendingRanking(halfLife, LocalDateTime.now());
+        Gauge.builder("trending.publications", ranking, TrendingRanking::size)
+                .description("Publications présentes dans le classement des tendances")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconstruit le classement avant l'ouverture du port HTTP.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (Publication publication : publicationRepository.findPublishedNotExpired(now)) {
+                ranking.track(publication.getId(), publication.getCategory(), publication.getValidFrom(),
+                        publication.getValidTo());
+                LocalDateTime publishedAt = publication.getCreatedAt().isAfter(publication.getValidFrom())
+                        ? publication.getCreatedAt() : publication.getValidFrom();
+                ranking.record(publication.getId(), likeWeight * publication.getLikes(), publishedAt);
+            }
+            for (CommentRepository.CommentDate comment : commentRepository.findCommentDatesSince(
+                    now.minus(rebuildWindow))) {
+                ranking.record(comment.getPublicationId(), commentWeight, comment.getCreatedAt());
+            }
+        });
+        log.info("Trending ranking rebuilt with {} publication(s) in {} ms", ranking.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PublicationDto> getTrending(String category, int limit) {
+        List<String> ids = ranking.top(category == null || category.isBlank() ? null : category,
+                        Math.max(1, Math.min(limit, maxLimit)), LocalDateTime.now()).stream()
+                .map(TrendingRanking.Ranked::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Recherche par clé primaire : l'ordre vient du classement
+        Map<String, Publication> publications = publicationRepository.findWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Publication::getId, Function.identity()));
+        return ids.stream()
+                .map(publications::get)
+                .filter(Objects::nonNull)
+                .map(PublicationDto::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public String name() {
+        return "trending";
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        if (event instanceof PublicationCreated created) {
+            track(created.getPublication());
+        } else if (event instanceof PublicationApproved approved) {
+            track(approved.getPublication());
+        } else if (event instanceof PublicationUpdated updated) {
+            track(updated.getPublication());
+        } else if (event instanceof PublicationDeleted deleted) {
+            ranking.remove(deleted.getPublicationId());
+        } else if (event instanceof PublicationLiked liked) {
+            ranking.record(liked.getPublicationId(), likeWeight, now);
+        } else if (event instanceof CommentAdded added) {
+            ranking.record(added.getPublicationId(), commentWeight, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.view-sample-interval:PT10S}")
+    public void sampleViews() {
+        LocalDateTime now = LocalDateTime.now();
+        publicationViewService.sampleRecentViews((id, views) -> ranking.record(id, viewWeight * views, now));
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.purge-interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        ranking.removeExpired(now);
+        ranking.rebaseIfNeeded(now);
+    }
+
+    private void track(PublicationSnapshot publication) {
+        if (publication.getStatus() == Publication.Status.PUBLISHED) {
+            ranking.track(publication.getId(), publication.getCategory(), publication.getValidFrom(),
+                    publication.getValidTo());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.avolta.services;
+
+import com.avolta.dto.UploadCleanupReport;
+import com.avolta.repositories.PublicationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep des images téléchargées : supprime les fichiers du répertoire
+ * d'upload qui ne sont plus référencés par aucune publication.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadCleanupService {
+
+    private static final String UPLOADS_PATH = "/api/uploads/";
+    // Seuls les fichiers générés par FileUploadController (UUID + extension) sont candidats
+    private static final Pattern GENERATED_NAME = Pattern.compile(
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\.[A-Za-z0-9]+$");
+    private static final int SAMPLE_SIZE = 100;
+
+    private final PublicationRepository publicationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${file.cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.cleanup.dry-run:true}")
+    private boolean defaultDryRun;
+
+    @Value("${file.cleanup.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${file.cleanup.max-deletes-per-second:20}")
+    private int maxDeletesPerSecond;
+
+    @Value("${file.cleanup.scan-batch-size:500}")
+    private int scanBatchSize;
+
+    @Value("${file.cleanup.scan-pause:PT0.05S}")
+    private Duration scanPause;
+
+    @Scheduled(cron = "${file.cleanup.cron:0 30 3 * * *}")
+    public void scheduledCleanup() {
+        if (!enabled) {
+            return;
+        }
+        UploadCleanupReport report = cleanup(defaultDryRun);
+        if (report != null) {
+            log.info("Upload cleanup finished (dryRun={}): scanned={}, orphaned={}, deleted={}, reclaimed={} bytes",
+                    report.isDryRun(), report.getScannedFiles(), report.getOrphanedFiles(),
+                    report.getDeletedFiles(), report.getReclaimedBytes());
+        }
+    }
+
+    /**
+     * Lance un passage complet. Retourne {@code null} si un passage est déjà en cours.
+     */
+    public UploadCleanupReport cleanup(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Upload cleanup already running, skipping");
+            return null;
+        }
+        try {
+            UploadCleanupReport report = new UploadCleanupReport();
+            report.setDryRun(dryRun);
+            report.setStartedAt(LocalDateTime.now());
+            long start = System.nanoTime();
+
+            Set<String> referenced = markReferencedFiles();
+            report.setReferencedFiles(referenced.size());
+            sweep(referenced, dryRun, report);
+
+            report.setDurationMs(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Set<String> markReferencedFiles() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            Set<String> referenced = new HashSet<>();
+            try (Stream<String> imageUrls = publicationRepository.streamImageUrls()) {
+                imageUrls.map(UploadCleanupService::toFilename)
+                        .filter(name -> name != null)
+                        .forEach(referenced::add);
+            }
+            return referenced;
+        });
+    }
+
+    private void sweep(Set<String> referenced, boolean dryRun, UploadCleanupReport report) {
+        Path directory = Paths.get(uploadDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        long deleteIntervalMs = maxDeletesPerSecond > 0 ? 1000L / maxDeletesPerSecond : 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                report.setScannedFiles(report.getScannedFiles() + 1);
+                if (scanBatchSize > 0 && report.getScannedFiles() % scanBatchSize == 0) {
+                    pause(scanPause.toMillis());
+                }
+
+                String name = file.getFileName().toString();
+                if (referenced.contains(name) || !GENERATED_NAME.matcher(name).matches()) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                // Laisse le temps au formulaire de création de référencer une image fraîchement téléchargée
+                if (attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    report.setSkippedRecentFiles(report.getSkippedRecentFiles() + 1);
+                    continue;
+                }
+
+                report.setOrphanedFiles(report.getOrphanedFiles() + 1);
+                if (report.getOrphanedSample().size() < SAMPLE_SIZE) {
+                    report.getOrphanedSample().add(name);
+                }
+                if (dryRun) {
+                    report.setReclaimedBytes(report.getReclaimedBytes() + attributes.size());
+                    continue;
+                }
+                if (Files.deleteIfExists(file)) {
+                    report.setDeletedFiles(report.getDeletedFiles() + 1);
+                    report.setReclaimedBytes(report.getReclaimedBytes() + attributes.size());
+                    pause(deleteIntervalMs);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Upload cleanup aborted while scanning {}", directory.toAbsolutePath(), e);
+        }
+    }
+
+    static String toFilename(String imageUrl) {
+        int index = imageUrl.lastIndexOf(UPLOADS_PATH);
+        if (index < 0) {
+            return null;
+        }
+        String name = imageUrl.substring(index + UPLOADS_PATH.length());
+        int query = name.indexOf('?');
+        if (query >= 0) {
+            name = name.substring(0, query);
+        }
+        return name.isEmpty() ? null : name;
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
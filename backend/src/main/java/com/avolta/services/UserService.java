@@ -1,10 +1,14 @@
 package com.avolta.services;
 
+import com.avolta.cache.CachedEntity;
+import com.avolta.cache.InvalidationBus;
 import com.avolta.dto.UserDto;
 import com.avolta.dto.requests.CreateUserRequest;
 import com.avolta.exceptions.ResourceNotFoundException;
+import com.avolta.fields.FieldSelection;
 import com.avolta.models.User;
 import com.avolta.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,8 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,8 +29,11 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final InvalidationBus invalidationBus;
+    private final EntityManager entityManager;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
@@ -53,11 +60,24 @@ public class UserService implements UserDetailsService {
         return UserDto.fromEntity(savedUser);
     }
 
+    /**
+     * Parcourt tous les utilisateurs par curseur ; chacun est détaché une fois converti (réponse en flux). Avec une
+     * sélection de champs, seules leurs colonnes sont lues.
+     */
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserDto::fromEntity)
-                .collect(Collectors.toList());
+    public void forEachUser(FieldSelection fields, Consumer<? super UserDto> action) {
+        if (!fields.isAll()) {
+            try (Stream<UserDto> users = userRepository.streamProjected(fields)) {
+                users.forEach(action);
+            }
+            return;
+        }
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                action.accept(UserDto.fromEntity(user));
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Transactional(readOnly = true)
@@ -74,6 +94,7 @@ public class UserService implements UserDetailsService {
 
         user.setStatus(status);
         User updatedUser = userRepository.save(user);
+        invalidationBus.publish(CachedEntity.USER, id);
         return UserDto.fromEntity(updatedUser);
     }
 
@@ -83,6 +104,7 @@ public class UserService implements UserDetailsService {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        invalidationBus.publish(CachedEntity.USER, id);
     }
 
     @Transactional
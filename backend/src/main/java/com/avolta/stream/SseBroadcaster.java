@@ -0,0 +1,147 @@
+package com.avolta.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diffusion Server-Sent Events vers toutes les connexions ouvertes de ce nœud.
+ * <p>
+ * Les connexions sont en mode asynchrone servlet : une connexion inactive ne retient aucun thread, seulement
+ * sa socket et une file d'au plus {@code max-queued-frames} trames. Chaque événement est sérialisé une seule
+ * fois et le même tableau d'octets est remis à toutes les connexions. Un commentaire est envoyé toutes les
+ * {@code heartbeat-interval} pour garder la connexion ouverte à travers les proxys et détecter les clients partis.
+ */
+@Slf4j
+public class SseBroadcaster {
+
+    public enum Disconnect {
+        SLOW_CONSUMER, CLOSED, LIFETIME, SHUTDOWN
+    }
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int maxQueuedFrames;
+    private final Duration maxLifetime;
+    private final byte[] openingFrame;
+
+    private final Counter broadcastEvents;
+    private final Counter rejectedConnections;
+    private final Map<Disconnect, Counter> disconnections = new EnumMap<>(Disconnect.class);
+
+    public SseBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry, int maxConnections,
+                          int maxQueuedFrames, Duration maxLifetime, Duration reconnectDelay) {
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.maxLifetime = maxLifetime;
+        this.openingFrame = ("retry: " + reconnectDelay.toMillis() + "\n\n").getBytes(StandardCharsets.UTF_8);
+        Gauge.builder("publications.stream.connections", connections, Set::size)
+                .description("Connexions SSE ouvertes sur ce nœud")
+                .register(meterRegistry);
+        this.broadcastEvents = meterRegistry.counter("publications.stream.events");
+        this.rejectedConnections = meterRegistry.counter("publications.stream.rejected");
+        for (Disconnect reason : Disconnect.values()) {
+            disconnections.put(reason, Counter.builder("publications.stream.disconnections")
+                    .tag("reason", reason.name().toLowerCase().replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Passe la requête en mode asynchrone et l'enregistre. Retourne false, sans rien écrire, si le nœud
+     * a atteint {@code max-connections} (limite approximative sous forte concurrence).
+     */
+    public boolean open(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (connections.size() >= maxConnections) {
+            rejectedConnections.increment();
+            return false;
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        // nginx : ne pas mettre le flux en tampon
+        response.setHeader("X-Accel-Buffering", "no");
+        ServletOutputStream out = response.getOutputStream();
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(maxLifetime.toMillis());
+        SseConnection connection = new SseConnection(asyncContext, out, this, maxQueuedFrames, openingFrame);
+        asyncContext.addListener(connection);
+        // Le premier onWritePossible, qui écrit la trame d'ouverture et inscrit la connexion, suit le retour
+        // du thread de la requête
+        out.setWriteListener(connection);
+        return true;
+    }
+
+    public boolean hasConnections() {
+        return !connections.isEmpty();
+    }
+
+    /**
+     * Envoie {@code event: <name>} avec la donnée sérialisée en JSON à toutes les connexions, sans bloquer.
+     */
+    public void broadcast(String name, Object data) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE payload is not serializable: " + data, e);
+        }
+        byte[] frame = ("event: " + name + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+        sendToAll(frame);
+        broadcastEvents.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.publications.stream.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        sendToAll(HEARTBEAT);
+    }
+
+    public void stop() {
+        for (SseConnection connection : connections) {
+            connection.close(Disconnect.SHUTDOWN);
+        }
+    }
+
+    void connected(SseConnection connection) {
+        connections.add(connection);
+    }
+
+    void disconnected(SseConnection connection, Disconnect reason) {
+        if (connections.remove(connection)) {
+            disconnections.get(reason).increment();
+            if (reason == Disconnect.SLOW_CONSUMER) {
+                log.debug("SSE connection evicted: {} frames pending", maxQueuedFrames);
+            }
+        }
+    }
+
+    private void sendToAll(byte[] frame) {
+        for (SseConnection connection : connections) {
+            connection.send(frame);
+        }
+    }
+}
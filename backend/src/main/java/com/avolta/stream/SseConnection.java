@@ -0,0 +1,139 @@
+package com.avolta.stream;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Une connexion SSE en écriture non bloquante : une trame n'est écrite que si {@link ServletOutputStream#isReady()},
+ * sinon elle attend dans une file bornée que le conteneur rappelle {@link #onWritePossible()}. Aucun thread
+ * n'est bloqué par un client lent ; quand sa file est pleine, il est déconnecté.
+ */
+@Slf4j
+final class SseConnection implements WriteListener, AsyncListener {
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private final SseBroadcaster broadcaster;
+    private final int maxQueuedFrames;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Protégés par lock ; les trames sont partagées entre toutes les connexions et jamais modifiées
+    private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+    private boolean registered;
+    private boolean closed;
+
+    SseConnection(AsyncContext asyncContext, ServletOutputStream out, SseBroadcaster broadcaster,
+                  int maxQueuedFrames, byte[] openingFrame) {
+        this.asyncContext = asyncContext;
+        this.out = out;
+        this.broadcaster = broadcaster;
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.queue.add(openingFrame);
+    }
+
+    /**
+     * Écrit la trame si la socket l'accepte, la met en file sinon. Ne bloque jamais.
+     */
+    void send(byte[] frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= maxQueuedFrames) {
+                close(SseBroadcaster.Disconnect.SLOW_CONSUMER);
+                return;
+            }
+            queue.addLast(frame);
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!registered) {
+                // Avant ce premier appel, isReady() reste faux : la connexion ne reçoit rien et ne peut être évincée
+                registered = true;
+                broadcaster.connected(this);
+            }
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        log.debug("SSE connection write failed: {}", t.getMessage());
+        close(SseBroadcaster.Disconnect.CLOSED);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        close(SseBroadcaster.Disconnect.CLOSED);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        // Durée de vie maximale atteinte : le client se reconnecte, éventuellement sur un autre nœud
+        close(SseBroadcaster.Disconnect.LIFETIME);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close(SseBroadcaster.Disconnect.CLOSED);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    void close(SseBroadcaster.Disconnect reason) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+        broadcaster.disconnected(this, reason);
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Déjà terminée par le conteneur
+        }
+    }
+
+    // Appelé sous lock
+    private void drain() {
+        try {
+            while (!queue.isEmpty() && out.isReady()) {
+                out.write(queue.pollFirst());
+            }
+            if (queue.isEmpty() && out.isReady()) {
+                out.flush();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE connection closed while writing: {}", e.getMessage());
+            close(SseBroadcaster.Disconnect.CLOSED);
+        }
+    }
+}
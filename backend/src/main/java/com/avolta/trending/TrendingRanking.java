@@ -0,0 +1,192 @@
+package com.avolta.trending;
+
+import lombok.Value;
+import lombok.With;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classement « tendances » en mémoire, mis à jour à chaque interaction.
+ * <p>
+ * Le score d'une publication est la somme des poids de ses interactions, chacun divisé par deux toutes les
+ * {@code half-life}. Plutôt que de faire décroître tous les scores avec le temps, chaque poids est multiplié à
+ * l'ajout par e<sup>λ(t − t0)</sup> : l'ordre entre deux publications ne change plus qu'à l'ajout d'une
+ * interaction, les ensembles triés restent donc valables et lire les K premières coûte O(K). t0 est avancé
+ * par {@link #rebaseIfNeeded(LocalDateTime)} avant que ces facteurs ne dépassent la capacité d'un double.
+ */
+public class TrendingRanking {
+
+    // e^300 reste loin de la limite des double (e^709) : marge pour les poids et les sommes
+    private static final double MAX_EXPONENT = 300;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::getScore).reversed()
+            .thenComparing(Entry::getId);
+
+    private final double decayPerMilli;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> all = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Entry>> byCategory = new ConcurrentHashMap<>();
+    // Lecture : mises à jour, concurrentes entre elles et atomiques par publication (compute). Écriture : changer t0
+    private final ReentrantReadWriteLock rebaseLock = new ReentrantReadWriteLock();
+    private volatile long epochMillis;
+
+    public TrendingRanking(Duration halfLife, LocalDateTime epoch) {
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.epochMillis = toMillis(epoch);
+    }
+
+    /**
+     * Ajoute une publication au classement avec un score nul, ou met à jour sa catégorie et sa période
+     * de validité en conservant son score.
+     */
+    public void track(String id, String category, LocalDateTime validFrom, LocalDateTime validTo) {
+        rebaseLock.readLock().lock();
+        try {
+            entries.compute(id, (key, previous) -> replace(previous,
+                    new Entry(id, category, validFrom, validTo, previous == null ? 0 : previous.getScore())));
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute une interaction de poids {@code weight} survenue à {@code at}. Ignorée pour une publication
+     * absente du classement (en attente, supprimée ou inconnue).
+     */
+    public void record(String id, double weight, LocalDateTime at) {
+        rebaseLock.readLock().lock();
+        try {
+            double increment = weight * Math.exp(decayPerMilli * (toMillis(at) - epochMillis));
+            entries.computeIfPresent(id, (key, previous) ->
+                    replace(previous, previous.withScore(previous.getScore() + increment)));
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        rebaseLock.readLock().lock();
+        try {
+            entries.computeIfPresent(id, (key, previous) -> {
+                unlink(previous);
+                return null;
+            });
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code limit} publications actives à {@code now} les mieux classées, toutes catégories confondues
+     * si {@code category} est null. Les scores sont ramenés à {@code now}.
+     */
+    public List<Ranked> top(String category, int limit, LocalDateTime now) {
+        rebaseLock.readLock().lock();
+        try {
+            NavigableSet<Entry> ranked = category == null ? all : byCategory.get(category);
+            if (ranked == null) {
+                return List.of();
+            }
+            double scale = Math.exp(-decayPerMilli * (toMillis(now) - epochMillis));
+            List<Ranked> top = new ArrayList<>(limit);
+            for (Entry entry : ranked) {
+                if (top.size() == limit) {
+                    break;
+                }
+                // Programmées ou expirées en attendant la purge
+                if (!entry.getValidFrom().isAfter(now) && !entry.getValidTo().isBefore(now)) {
+                    top.add(new Ranked(entry.getId(), entry.getScore() * scale));
+                }
+            }
+            return top;
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void removeExpired(LocalDateTime now) {
+        entries.values().stream()
+                .filter(entry -> entry.getValidTo().isBefore(now))
+                .map(Entry::getId)
+                .forEach(this::remove);
+    }
+
+    /**
+     * Avance t0 à {@code now} si les facteurs d'ajout approchent la limite des double :
+     * tous les scores sont multipliés par le même facteur, l'ordre ne change pas.
+     */
+    public void rebaseIfNeeded(LocalDateTime now) {
+        long nowMillis = toMillis(now);
+        if (decayPerMilli * (nowMillis - epochMillis) < MAX_EXPONENT) {
+            return;
+        }
+        rebaseLock.writeLock().lock();
+        try {
+            double scale = Math.exp(-decayPerMilli * (nowMillis - epochMillis));
+            all.clear();
+            byCategory.clear();
+            entries.replaceAll((id, entry) -> {
+                Entry rescaled = entry.withScore(entry.getScore() * scale);
+                link(rescaled);
+                return rescaled;
+            });
+            epochMillis = nowMillis;
+        } finally {
+            rebaseLock.writeLock().unlock();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Entry replace(Entry previous, Entry updated) {
+        if (previous != null) {
+            unlink(previous);
+        }
+        link(updated);
+        return updated;
+    }
+
+    private void link(Entry entry) {
+        all.add(entry);
+        byCategory.computeIfAbsent(entry.getCategory(), category -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+    }
+
+    private void unlink(Entry entry) {
+        all.remove(entry);
+        NavigableSet<Entry> category = byCategory.get(entry.getCategory());
+        if (category != null) {
+            category.remove(entry);
+        }
+    }
+
+    @Value
+    public static class Ranked {
+        String id;
+        double score;
+    }
+
+    @Value
+    private static class Entry {
+        String id;
+        String category;
+        LocalDateTime validFrom;
+        LocalDateTime validTo;
+        @With
+        double score;
+    }
+}
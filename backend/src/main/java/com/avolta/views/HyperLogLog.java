@@ -0,0 +1,130 @@
+package com.avolta.views;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimateur HyperLogLog du nombre d'éléments distincts, en taille fixe : 2<sup>precision</sup> registres d'un
+ * octet, erreur type 1,04 / √(2<sup>precision</sup>) (3,25 % pour la précision 10).
+ * <p>
+ * Les registres sont regroupés par huit dans des {@code long} mis à jour par CAS : {@link #offer(long)} est
+ * appelable depuis plusieurs threads sans verrou. Deux sketches de même précision se fusionnent registre par
+ * registre (maximum), ce qui permet de cumuler les estimations de plusieurs nœuds ou de plusieurs périodes.
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+    private final int registerCount;
+    private final AtomicLongArray words;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.words = new AtomicLongArray(registerCount / Long.BYTES);
+    }
+
+    /**
+     * Reconstruit un sketch depuis {@link #toBytes()} ; la précision se déduit de la taille.
+     */
+    public static HyperLogLog fromBytes(byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog(Integer.numberOfTrailingZeros(registers.length));
+        if (registers.length != sketch.registerCount) {
+            throw new IllegalArgumentException("Invalid HyperLogLog size: " + registers.length);
+        }
+        sketch.merge(registers);
+        return sketch;
+    }
+
+    /**
+     * Ajoute un élément, représenté par un hash 64 bits bien distribué.
+     */
+    public void offer(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = remaining == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(remaining) + 1;
+        raise(index, rank);
+    }
+
+    public void merge(byte[] registers) {
+        if (registers.length != registerCount) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog of size " + registers.length
+                    + " into size " + registerCount);
+        }
+        for (int index = 0; index < registerCount; index++) {
+            raise(index, registers[index]);
+        }
+    }
+
+    public byte[] toBytes() {
+        byte[] registers = new byte[registerCount];
+        for (int index = 0; index < registerCount; index++) {
+            registers[index] = (byte) register(index);
+        }
+        return registers;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (int index = 0; index < registerCount; index++) {
+            int value = register(index);
+            sum += 1.0 / (1L << value);
+            if (value == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha() * registerCount * registerCount / sum;
+        // Petites cardinalités : comptage linéaire des registres vides, plus précis
+        if (estimate <= 2.5 * registerCount && zeros > 0) {
+            estimate = registerCount * Math.log((double) registerCount / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Hash 64 bits d'une chaîne (FNV-1a puis mélange final de MurmurHash3), stable d'un nœud à l'autre.
+     */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private int register(int index) {
+        return (int) (words.get(index >>> 3) >>> ((index & 7) << 3)) & 0xFF;
+    }
+
+    private void raise(int index, int value) {
+        int word = index >>> 3;
+        int shift = (index & 7) << 3;
+        while (true) {
+            long current = words.get(word);
+            if (((current >>> shift) & 0xFF) >= value) {
+                return;
+            }
+            long updated = (current & ~(0xFFL << shift)) | ((long) value << shift);
+            if (words.compareAndSet(word, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private double alpha() {
+        return switch (registerCount) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / registerCount);
+        };
+    }
+}
@@ -3,7 +3,8 @@ import {
   ArrowRight, 
   ChevronLeft, 
   ChevronRight,
-  RefreshCw
+  RefreshCw,
+  Search
 } from 'lucide-react';
 
 import publicationService from '../../services/publication.service';
@@ -21,22 +22,42 @@ export default function NewsSection() {
   const carouselRef = useRef<HTMLDivElement>(null);
   const touchStartX = useRef<number | null>(null);
   const touchEndX = useRef<number | null>(null);
+  const [sortMode, setSortMode] = useState<'recent' | 'trending'>('recent');
+  const [query, setQuery] = useState('');
+  const [searchQuery, setSearchQuery] = useState('');
   const postsPerPage = 6;
+  const trendingLimit = 18;
+  const searchDelay = 300;
+
+  // Une recherche par pause de saisie, pas une par touche
+  useEffect(() => {
+    const timer = setTimeout(() => setSearchQuery(query.trim()), searchDelay);
+    return () => clearTimeout(timer);
+  }, [query]);
+
+  // Recherche : classée par pertinence ; récentes : triées par date côté client ; tendances : classées par le serveur
+  const fetchSortedPosts = useCallback(async () => {
+    if (searchQuery) {
+      return publicationService.searchPublications(searchQuery, 'news', trendingLimit);
+    }
+    if (sortMode === 'trending') {
+      return publicationService.getTrendingPublications('news', trendingLimit);
+    }
+    const fetchedPosts = await publicationService.getActivePublicationsByCategory('news');
+    return fetchedPosts.sort((a, b) =>
+      new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime()
+    );
+  }, [sortMode, searchQuery]);
 
   // Chargement des publications
   useEffect(() => {
     const loadPosts = async () => {
       try {
+        setError(null);
         setIsLoading(true);
-        // Récupérer toutes les publications actives de la catégorie news
-        const fetchedPosts = await publicationService.getActivePublicationsByCategory('news');
-        
-        // Trier les publications par date (du plus récent au plus ancien)
-        const sortedPosts = fetchedPosts.sort((a, b) => 
-          new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime()
-        );
-        
+        const sortedPosts = await fetchSortedPosts();
         setPosts(sortedPosts);
+        setCurrentPage(0);
         setTotalPages(Math.ceil(sortedPosts.length / postsPerPage));
       } catch (err) {
         console.error('Error fetching news publications:', err);
@@ -45,9 +66,12 @@ export default function NewsSection() {
         setIsLoading(false);
       }
     };
-    
+
     loadPosts();
+  }, [fetchSortedPosts]);
 
+  // Animation à l'apparition de la section
+  useEffect(() => {
     // Observer pour détecter quand la section devient visible
     const observer = new IntersectionObserver(
       ([entry]) => {
@@ -80,11 +104,8 @@ export default function NewsSection() {
   const handleRetry = () => {
     setError(null);
     setIsLoading(true);
-    publicationService.getActivePublicationsByCategory('news')
-      .then(fetchedPosts => {
-        const sortedPosts = fetchedPosts.sort((a, b) => 
-          new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime()
-        );
+    fetchSortedPosts()
+      .then(sortedPosts => {
         setPosts(sortedPosts);
         setTotalPages(Math.ceil(sortedPosts.length / postsPerPage));
       })
@@ -288,6 +309,32 @@ export default function NewsSection() {
               <h2 className="style-raffine text-night text-3xl md:text-4xl font-bold">Restez informé</h2>
               <p className="text-night/70 mt-3 max-w-xl">Découvrez les dernières actualités et tendances du secteur</p>
             </div>
+            <div className="flex items-center gap-2 self-start md:self-auto">
+              <div className="relative">
+                <Search className="absolute left-3 top-1/2 -translate-y-1/2 w-4 h-4 text-night/50" />
+                <input
+                  type="search"
+                  value={query}
+                  onChange={(e) => setQuery(e.target.value)}
+                  placeholder="Rechercher"
+                  maxLength={200}
+                  className="pl-9 pr-4 py-2 rounded-full text-sm bg-white/70 text-night focus:bg-white focus:outline-none focus:ring-2 focus:ring-primary/40"
+                />
+              </div>
+              {(['recent', 'trending'] as const).map((mode) => (
+                <button
+                  key={mode}
+                  onClick={() => setSortMode(mode)}
+                  className={`px-4 py-2 rounded-full text-sm font-medium transition-colors ${
+                    sortMode === mode
+                      ? 'bg-primary text-day shadow-md'
+                      : 'bg-white/70 text-night hover:bg-white'
+                  }`}
+                >
+                  {mode === 'recent' ? 'Récentes' : 'Tendances'}
+                </button>
+              ))}
+            </div>
             <button
               onClick={handleNewsClick}
               className="group flex items-center px-6 py-2 bg-night text-day rounded-full hover:bg-primary transition-all duration-300 shadow-md hover:shadow-lg self-start md:self-auto"
@@ -24,6 +24,7 @@ export default function NewsPage() {
       }
     };
     fetchPosts();
+    return publicationService.subscribeToActivePublications(setPosts);
   }, []);
 
   const filteredPosts = posts.filter(
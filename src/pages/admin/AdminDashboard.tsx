@@ -12,9 +12,13 @@ import {
   Shield, 
   PlusCircle,
   ChevronRight,
-  BarChart2
+  BarChart2,
+  Eye
 } from 'lucide-react';
 import TeamGrid from '../../components/home/TeamGrid';
+import publicationService from '../../services/publication.service';
+import statsService from '../../services/stats.service';
+import { AdminStats, ViewStats } from '../../types';
 
 export default function AdminDashboard() {
   const location = useLocation();
@@ -26,6 +30,24 @@ export default function AdminDashboard() {
     setShowWelcome(location.pathname === '/admin');
   }, [location.pathname]);
 
+  // Statistiques de vues, mises à jour côté serveur toutes les minutes
+  const [viewStats, setViewStats] = useState<ViewStats | null>(null);
+  useEffect(() => {
+    if (!showWelcome) return;
+    publicationService.getViewStats(5)
+      .then(setViewStats)
+      .catch(() => setViewStats(null));
+  }, [showWelcome]);
+
+  // Totaux et activité des 7 derniers jours, en un appel quel que soit le volume de données
+  const [stats, setStats] = useState<AdminStats | null>(null);
+  useEffect(() => {
+    if (!showWelcome) return;
+    statsService.getAdminStats(7)
+      .then(setStats)
+      .catch(() => setStats(null));
+  }, [showWelcome]);
+
   // Fonctionnalités disponibles pour tous les administrateurs
   const adminFeatures = [
     {
@@ -92,7 +114,7 @@ export default function AdminDashboard() {
         <div className="flex justify-between items-center">
           <div>
             <h3 className="text-lg font-semibold text-gray-800">Publications</h3>
-            <p className="text-3xl font-bold text-[#6A0DAD] mt-2">+</p>
+            <p className="text-3xl font-bold text-[#6A0DAD] mt-2">{stats?.publications ?? "+"}</p>
           </div>
           <div className="bg-[#6A0DAD]/10 p-3 rounded-full">
             <FileText className="w-6 h-6 text-[#6A0DAD]" />
@@ -104,7 +126,12 @@ export default function AdminDashboard() {
         <div className="flex justify-between items-center">
           <div>
             <h3 className="text-lg font-semibold text-gray-800">Abonnés</h3>
-            <p className="text-3xl font-bold text-[#6A0DAD] mt-2">+</p>
+            <p className="text-3xl font-bold text-[#6A0DAD] mt-2">{stats?.subscribers ?? "+"}</p>
+            {stats && stats.subscribers > 0 && (
+              <p className="text-sm text-gray-500 mt-1">
+                {Math.round(stats.confirmedRatio * 100)} % confirmés
+              </p>
+            )}
           </div>
           <div className="bg-[#6A0DAD]/10 p-3 rounded-full">
             <Mail className="w-6 h-6 text-[#6A0DAD]" />
@@ -119,7 +146,9 @@ export default function AdminDashboard() {
               {isSuperAdmin ? "En attente" : "Visites"}
             </h3>
             <p className="text-3xl font-bold text-[#6A0DAD] mt-2">
-              {isSuperAdmin ? "+" : "+"}
+              {isSuperAdmin
+                ? (stats?.pendingPublications ?? "+")
+                : (viewStats?.totalViews ?? "+")}
             </p>
           </div>
           <div className="bg-[#6A0DAD]/10 p-3 rounded-full">
@@ -133,6 +162,76 @@ export default function AdminDashboard() {
     </div>
   );
 
+  // Activité quotidienne
+  const RecentActivity = () => (
+    <div className="bg-white rounded-xl p-6 shadow-sm mb-8">
+      <h2 className="text-xl font-bold text-gray-800 mb-4 flex items-center">
+        <BarChart2 className="w-5 h-5 text-[#6A0DAD] mr-2" />
+        Activité des 7 derniers jours
+      </h2>
+      {stats ? (
+        <table className="w-full text-left">
+          <thead>
+            <tr className="text-sm text-gray-500 border-b">
+              <th className="py-2 font-medium">Jour</th>
+              <th className="py-2 font-medium text-right">Publications</th>
+              <th className="py-2 font-medium text-right">Commentaires</th>
+              <th className="py-2 font-medium text-right">Likes</th>
+              <th className="py-2 font-medium text-right">Abonnés</th>
+            </tr>
+          </thead>
+          <tbody>
+            {stats.days.map((day) => (
+              <tr key={day.day} className="border-b last:border-0">
+                <td className="py-2 text-gray-800">{new Date(day.day).toLocaleDateString('fr-BE')}</td>
+                <td className="py-2 text-right text-gray-600">{day.publicationsCreated}</td>
+                <td className="py-2 text-right text-gray-600">{day.commentsAdded}</td>
+                <td className="py-2 text-right text-gray-600">{day.likes}</td>
+                <td className="py-2 text-right font-semibold text-[#6A0DAD]">
+                  {day.subscriberGrowth > 0 ? `+${day.subscriberGrowth}` : day.subscriberGrowth}
+                </td>
+              </tr>
+            ))}
+          </tbody>
+        </table>
+      ) : (
+        <p className="text-gray-600">Statistiques indisponibles pour le moment.</p>
+      )}
+    </div>
+  );
+
+  // Publications les plus vues
+  const MostViewedPublications = () => (
+    <div className="bg-white rounded-xl p-6 shadow-sm mb-8">
+      <h2 className="text-xl font-bold text-gray-800 mb-4 flex items-center">
+        <Eye className="w-5 h-5 text-[#6A0DAD] mr-2" />
+        Publications les plus vues
+      </h2>
+      {viewStats && viewStats.publications.length > 0 ? (
+        <table className="w-full text-left">
+          <thead>
+            <tr className="text-sm text-gray-500 border-b">
+              <th className="py-2 font-medium">Publication</th>
+              <th className="py-2 font-medium text-right">Vues</th>
+              <th className="py-2 font-medium text-right">Visiteurs uniques (≈)</th>
+            </tr>
+          </thead>
+          <tbody>
+            {viewStats.publications.map((publication) => (
+              <tr key={publication.id} className="border-b last:border-0">
+                <td className="py-2 text-gray-800">{publication.title}</td>
+                <td className="py-2 text-right font-semibold text-[#6A0DAD]">{publication.views}</td>
+                <td className="py-2 text-right text-gray-600">{publication.uniqueVisitors}</td>
+              </tr>
+            ))}
+          </tbody>
+        </table>
+      ) : (
+        <p className="text-gray-600">Aucune vue enregistrée pour le moment.</p>
+      )}
+    </div>
+  );
+
   // Carte de fonctionnalité
   const FeatureCard = ({ feature }: { feature: typeof adminFeatures[0] }) => (
     <a 
@@ -160,6 +259,8 @@ export default function AdminDashboard() {
           <div className="max-w-7xl mx-auto px-4 sm:px-6 lg:px-8">
             <WelcomeBanner />
             <StatisticsDashboard />
+            <RecentActivity />
+            <MostViewedPublications />
             
             <div className="mb-8">
               <h2 className="text-xl font-bold text-gray-800 mb-4 flex items-center">
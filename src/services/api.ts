@@ -136,6 +136,21 @@ public async getPublicationById(id: string): Promise<AxiosResponse> {
   }
 }
 
+  public async getPublicationsBatch(
+    ids: string[],
+    includeComments?: boolean
+  ): Promise<AxiosResponse> {
+    try {
+      return await this.api.post("/publications/public/batch", {
+        ids,
+        includeComments,
+      });
+    } catch (error) {
+      console.error("Get publications batch request failed:", error);
+      throw error;
+    }
+  }
+
   public async createPublication(data: any): Promise<AxiosResponse> {
     try {
       return await this.api.post("/publications", data);
@@ -298,6 +313,79 @@ public async getPublicationById(id: string): Promise<AxiosResponse> {
     }
   }
 
+  public getPublicationStreamUrl(): string {
+    return `${API_BASE_URL}/publications/public/stream`;
+  }
+
+  public async getPublicationChanges(since?: string): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/public/changes", {
+        params: since ? { since } : undefined,
+      });
+    } catch (error) {
+      console.error("Get publication changes request failed:", error);
+      throw error;
+    }
+  }
+
+  public async getTrendingPublications(
+    category?: string,
+    limit?: number
+  ): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/public/trending", {
+        params: { category, limit },
+      });
+    } catch (error) {
+      console.error("Get trending publications request failed:", error);
+      throw error;
+    }
+  }
+
+  public async searchPublications(
+    query: string,
+    category?: string,
+    limit?: number
+  ): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/public/search", {
+        params: { q: query, category, limit },
+      });
+    } catch (error) {
+      console.error("Search publications request failed:", error);
+      throw error;
+    }
+  }
+
+  public async getPublicFacets(): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/public/facets");
+    } catch (error) {
+      console.error("Get public facets request failed:", error);
+      throw error;
+    }
+  }
+
+  public async getFacets(): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/stats/facets");
+    } catch (error) {
+      console.error("Get facets request failed:", error);
+      throw error;
+    }
+  }
+
+  public async getViewStats(limit?: number): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/publications/stats/views", {
+        params: { limit },
+      });
+    } catch (error) {
+      console.error("Get view stats request failed:", error);
+      throw error;
+    }
+  }
+
   public async getPublicationsByCategory(
     category: string
   ): Promise<AxiosResponse> {
@@ -349,6 +437,15 @@ public async getPublicationById(id: string): Promise<AxiosResponse> {
     }
   }
 
+  public async getAdminStats(days?: number): Promise<AxiosResponse> {
+    try {
+      return await this.api.get("/admin/stats", { params: { days } });
+    } catch (error) {
+      console.error("Get admin stats request failed:", error);
+      throw error;
+    }
+  }
+
   public async updateUserStatus(
     id: string,
     status: "ACTIVE" | "INACTIVE"
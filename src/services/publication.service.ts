@@ -8,7 +8,13 @@
  */
 
 import api from "./api";
-import { Post } from "../types";
+import {
+  FacetCounts,
+  Post,
+  PublicationBatch,
+  PublicationFacets,
+  ViewStats,
+} from "../types";
 
 /**
  * Create publication request interface
@@ -35,6 +41,63 @@ interface UpdatePublicationRequest {
   category?: string;
 }
 
+/**
+ * Response of GET /publications/public/changes
+ */
+interface PublicationChanges {
+  token: string;
+  reset: boolean;
+  upserted: Post[];
+  removed: string[];
+}
+
+interface SyncedPublications {
+  token: string;
+  publications: Post[];
+}
+
+const SYNC_STORAGE_KEY = "activePublicationsSync";
+// Regroupe les notifications reçues en rafale
+const STREAM_SYNC_DELAY = 500;
+
+const readSyncedPublications = (): SyncedPublications | null => {
+  try {
+    const stored = localStorage.getItem(SYNC_STORAGE_KEY);
+    return stored ? (JSON.parse(stored) as SyncedPublications) : null;
+  } catch {
+    return null;
+  }
+};
+
+const writeSyncedPublications = (synced: SyncedPublications): void => {
+  try {
+    localStorage.setItem(SYNC_STORAGE_KEY, JSON.stringify(synced));
+  } catch {
+    // Quota dépassé ou stockage indisponible : la prochaine visite repartira d'une liste complète
+    localStorage.removeItem(SYNC_STORAGE_KEY);
+  }
+};
+
+/**
+ * Applique un delta à la copie locale, en conservant l'ordre existant.
+ * Une même version peut être renvoyée deux fois par le serveur : l'opération est idempotente.
+ */
+const applyChanges = (
+  publications: Post[],
+  changes: PublicationChanges
+): Post[] => {
+  const removed = new Set(changes.removed);
+  const upserted = new Map(changes.upserted.map((post) => [post.id, post]));
+  const merged = publications
+    .filter((post) => !removed.has(post.id))
+    .map((post) => {
+      const update = upserted.get(post.id);
+      upserted.delete(post.id);
+      return update ?? post;
+    });
+  return [...merged, ...upserted.values()];
+};
+
 /**
  * Publication service
  */
@@ -55,18 +118,63 @@ class PublicationService {
 
   /**
    * Get active publications (public)
+   *
+   * Synchronisation incrémentale : seule la première visite télécharge toute la liste,
+   * les suivantes ne reçoivent que les publications modifiées ou retirées depuis le dernier jeton.
    * @returns List of active publications
    */
   public async getActivePublications(): Promise<Post[]> {
     try {
-      const response = await api.getPublicPublications();
-      return response.data.data;
+      const synced = readSyncedPublications();
+      const response = await api.getPublicationChanges(synced?.token);
+      const changes: PublicationChanges = response.data.data;
+      const publications =
+        changes.reset || !synced
+          ? changes.upserted
+          : applyChanges(synced.publications, changes);
+      writeSyncedPublications({ token: changes.token, publications });
+      return publications;
     } catch (error) {
       console.error("Error fetching active publications:", error);
       throw error;
     }
   }
 
+  /**
+   * Keep the active publications up to date (public)
+   *
+   * Le serveur signale chaque publication publiée, modifiée ou expirée ; les notifications proches sont
+   * regroupées en une seule synchronisation incrémentale. Une synchronisation suit aussi chaque (re)connexion,
+   * pour rattraper ce qui a changé pendant la coupure.
+   * @param onChange Called with the updated list of active publications
+   * @returns Function closing the subscription
+   */
+  public subscribeToActivePublications(
+    onChange: (publications: Post[]) => void
+  ): () => void {
+    const source = new EventSource(api.getPublicationStreamUrl());
+    let timer: ReturnType<typeof setTimeout> | undefined;
+    const scheduleSync = () => {
+      if (timer) return;
+      timer = setTimeout(() => {
+        timer = undefined;
+        this.getActivePublications()
+          .then(onChange)
+          .catch((error) =>
+            console.error("Error syncing active publications:", error)
+          );
+      }, STREAM_SYNC_DELAY);
+    };
+    source.onopen = scheduleSync;
+    ["published", "updated", "expired"].forEach((type) =>
+      source.addEventListener(type, scheduleSync)
+    );
+    return () => {
+      clearTimeout(timer);
+      source.close();
+    };
+  }
+
   /**
    * Get active publications by category (public)
    * @param category Publication category
@@ -84,6 +192,108 @@ class PublicationService {
     }
   }
 
+  /**
+   * Get trending active publications (public), best first
+   * @param category Optional publication category
+   * @param limit Maximum number of publications (50 at most)
+   * @returns List of trending publications
+   */
+  public async getTrendingPublications(
+    category?: string,
+    limit?: number
+  ): Promise<Post[]> {
+    try {
+      const response = await api.getTrendingPublications(category, limit);
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching trending publications:", error);
+      throw error;
+    }
+  }
+
+  /**
+   * Get several publications in one request (public), e.g. for related lists
+   * @param ids Publication IDs (100 at most)
+   * @param includeComments Whether to include the comments of each publication
+   * @returns Publications keyed by ID, null for unknown IDs
+   */
+  public async getPublicationsByIds(
+    ids: string[],
+    includeComments = false
+  ): Promise<PublicationBatch> {
+    try {
+      const response = await api.getPublicationsBatch(ids, includeComments);
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching publications batch:", error);
+      throw error;
+    }
+  }
+
+  /**
+   * Full-text search over active publications (public), most relevant first
+   * @param query Words to look for in titles, contents and comments
+   * @param category Optional publication category
+   * @param limit Maximum number of publications (50 at most)
+   * @returns List of matching publications
+   */
+  public async searchPublications(
+    query: string,
+    category?: string,
+    limit?: number
+  ): Promise<Post[]> {
+    try {
+      const response = await api.searchPublications(query, category, limit);
+      return response.data.data;
+    } catch (error) {
+      console.error("Error searching publications:", error);
+      throw error;
+    }
+  }
+
+  /**
+   * Count active publications per category, status and validity month
+   * @returns Facet counts of active publications
+   */
+  public async getPublicFacets(): Promise<FacetCounts> {
+    try {
+      const response = await api.getPublicFacets();
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching publication facets:", error);
+      throw error;
+    }
+  }
+
+  /**
+   * Count active and all publications per category, status and validity month (admin only)
+   * @returns Facet counts of active and all publications
+   */
+  public async getFacets(): Promise<PublicationFacets> {
+    try {
+      const response = await api.getFacets();
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching publication facets:", error);
+      throw error;
+    }
+  }
+
+  /**
+   * Get view statistics of the most viewed publications (admin only)
+   * @param limit Maximum number of publications (100 at most)
+   * @returns Total views, unique visitors and per-publication statistics
+   */
+  public async getViewStats(limit?: number): Promise<ViewStats> {
+    try {
+      const response = await api.getViewStats(limit);
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching view statistics:", error);
+      throw error;
+    }
+  }
+
   /**
    * Get pending publications (super admin only)
    * @returns List of pending publications
@@ -0,0 +1,34 @@
+/**
+ * Stats Service
+ *
+ * This module provides the admin dashboard statistics.
+ *
+ * @module services/stats
+ */
+
+import api from "./api";
+import { AdminStats } from "../types";
+
+/**
+ * Stats service
+ */
+class StatsService {
+  /**
+   * Get dashboard statistics (admin only)
+   * @param days Number of days of daily activity (90 at most)
+   * @returns Totals and daily activity, updated every minute
+   */
+  public async getAdminStats(days?: number): Promise<AdminStats> {
+    try {
+      const response = await api.getAdminStats(days);
+      return response.data.data;
+    } catch (error) {
+      console.error("Error fetching admin statistics:", error);
+      throw error;
+    }
+  }
+}
+
+// Create and export a singleton instance
+const statsService = new StatsService();
+export default statsService;
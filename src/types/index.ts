@@ -21,6 +21,68 @@ export interface Post {
   authorId: string;
   authorName: string;
   authorEmail: string;
+  version?: number;
+}
+
+export interface PublicationBatch {
+  // Par identifiant, dans l'ordre demandé ; null pour une publication introuvable
+  publications: Record<string, Post | null>;
+  notFound: string[];
+}
+
+export interface PublicationViews {
+  id: string;
+  title: string;
+  views: number;
+  // Estimation HyperLogLog (erreur ~3 %)
+  uniqueVisitors: number;
+  updatedAt: string;
+}
+
+export interface ViewStats {
+  totalViews: number;
+  uniqueVisitors: number;
+  publications: PublicationViews[];
+}
+
+export interface FacetCounts {
+  total: number;
+  categories: Record<string, number>;
+  statuses: Record<string, number>;
+  // Mois de début de validité, au format 2025-06
+  months: Record<string, number>;
+}
+
+export interface PublicationFacets {
+  active: FacetCounts;
+  all: FacetCounts;
+}
+
+export interface DailyStats {
+  day: string;
+  publicationsCreated: number;
+  commentsAdded: number;
+  commentsDeleted: number;
+  likes: number;
+  subscribersAdded: number;
+  subscribersRemoved: number;
+  subscriberGrowth: number;
+}
+
+export interface AdminStats {
+  publications: number;
+  publicationsByStatus: Record<string, number>;
+  pendingPublications: number;
+  activePublications: number;
+  likes: number;
+  comments: number;
+  subscribers: number;
+  confirmedSubscribers: number;
+  confirmedRatio: number;
+  // Journées d'activité, la plus ancienne d'abord
+  days: DailyStats[];
+  // Dernière écriture des compteurs côté serveur (toutes les minutes)
+  updatedAt: string | null;
 }
 
 export interface Comment {